@@ -0,0 +1,256 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+/**
+ * A monetary value in one currency that may be updated atomically.
+ * <p>
+ * The value is held as a {@code long} of minor units, which is updated by compare-and-set
+ * without creating a {@code Money} on each attempt. If the value no longer fits in a long,
+ * the holder switches permanently to a compare-and-set on a reference to a {@code Money}.
+ * <p>
+ * Every update checks the currency in the same way as {@link Money#plus(Money)},
+ * throwing {@link CurrencyMismatchException} if it differs.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class AtomicMoney {
+
+    /**
+     * The marker stored in the long once the value has moved to the reference.
+     */
+    private static final long MOVED = Long.MIN_VALUE;
+
+    /**
+     * The currency.
+     */
+    private final CurrencyUnit currency;
+    /**
+     * The value in minor units, or {@code MOVED}.
+     */
+    private final AtomicLong minor;
+    /**
+     * The value once it no longer fits in a long, null before.
+     */
+    private final AtomicReference<Money> big = new AtomicReference<>();
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Constructor, with a value of zero.
+     *
+     * @param currency the currency, not null
+     */
+    public AtomicMoney(@NonNull CurrencyUnit currency) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        this.currency = currency;
+        this.minor = new AtomicLong();
+    }
+
+    /**
+     * Constructor, with an initial value that also defines the currency.
+     *
+     * @param initialValue the initial value, not null
+     */
+    public AtomicMoney(@NonNull Money initialValue) {
+        MoneyUtils.checkNotNull(initialValue, "Money must not be null");
+        this.currency = initialValue.getCurrencyUnit();
+        long initialMinor = minorOf(initialValue);
+        this.minor = new AtomicLong(initialMinor);
+        if (initialMinor == MOVED) {
+            big.set(initialValue);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the currency.
+     *
+     * @return the currency, never null
+     */
+    @NonNull
+    public CurrencyUnit getCurrencyUnit() {
+        return currency;
+    }
+
+    /**
+     * Gets the current value.
+     *
+     * @return the value, never null
+     */
+    @NonNull
+    public Money get() {
+        long current = minor.get();
+        return (current != MOVED ? Money.ofMinor(currency, current) : getBig());
+    }
+
+    /**
+     * Sets the value.
+     *
+     * @param newValue the new value, not null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public void set(@NonNull Money newValue) {
+        long newMinor = minorOf(checkCurrency(newValue));
+        while (true) {
+            long current = minor.get();
+            if (current == MOVED) {
+                getBig();
+                big.set(newValue);
+                return;
+            }
+            if (newMinor != MOVED ? minor.compareAndSet(current, newMinor) : move(current, newValue)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Atomically adds to the value.
+     *
+     * @param moneyToAdd the money to add, not null
+     * @return the updated value, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    @NonNull
+    public Money addAndGet(@NonNull Money moneyToAdd) {
+        long delta = minorOf(checkCurrency(moneyToAdd));
+        while (true) {
+            long current = minor.get();
+            if (current == MOVED) {
+                Money currentMoney = getBig();
+                Money result = currentMoney.plus(moneyToAdd);
+                if (big.compareAndSet(currentMoney, result)) {
+                    return result;
+                }
+                continue;
+            }
+            long result = current + delta;
+            if (delta != MOVED && ((current ^ result) & (delta ^ result)) >= 0 && result != MOVED) {
+                if (minor.compareAndSet(current, result)) {
+                    return Money.ofMinor(currency, result);
+                }
+            } else {
+                Money resultMoney = Money.ofMinor(currency, current).plus(moneyToAdd);
+                if (move(current, resultMoney)) {
+                    return resultMoney;
+                }
+            }
+        }
+    }
+
+    /**
+     * Atomically sets the value if the current value equals the expected value.
+     *
+     * @param expectedValue the expected current value, not null
+     * @param newValue      the new value, not null
+     * @return true if successful, false if the current value was not equal to the expected value
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public boolean compareAndSet(@NonNull Money expectedValue, @NonNull Money newValue) {
+        long expectedMinor = minorOf(checkCurrency(expectedValue));
+        long newMinor = minorOf(checkCurrency(newValue));
+        while (true) {
+            long current = minor.get();
+            if (current == MOVED) {
+                Money currentMoney = getBig();
+                if (!currentMoney.equals(expectedValue)) {
+                    return false;
+                }
+                if (big.compareAndSet(currentMoney, newValue)) {
+                    return true;
+                }
+                continue;
+            }
+            if (expectedMinor == MOVED || current != expectedMinor) {
+                return false;
+            }
+            if (newMinor != MOVED ? minor.compareAndSet(current, newMinor) : move(current, newValue)) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Atomically updates the value using a function.
+     * <p>
+     * The function may be called more than once if there is contention, so should have no side effects.
+     *
+     * @param updateFunction the function to apply to the current value, not null
+     * @return the updated value, never null
+     * @throws CurrencyMismatchException if the function returns a different currency
+     */
+    @RequiresApi(api = 24)
+    @NonNull
+    public Money updateAndGet(@NonNull UnaryOperator<Money> updateFunction) {
+        MoneyUtils.checkNotNull(updateFunction, "Function must not be null");
+        while (true) {
+            Money current = get();
+            Money result = updateFunction.apply(current);
+            if (compareAndSet(current, result)) {
+                return result;
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    private Money checkCurrency(Money money) {
+        MoneyUtils.checkNotNull(money, "Money must not be null");
+        if (!currency.equals(money.getCurrencyUnit())) {
+            throw new CurrencyMismatchException(currency, money.getCurrencyUnit());
+        }
+        return money;
+    }
+
+    /**
+     * Gets the minor units of a value, or {@code MOVED} if it does not fit in a long.
+     */
+    private static long minorOf(Money money) {
+        BigInteger unscaled = money.getAmount().unscaledValue();
+        return (unscaled.bitLength() <= 63 ? unscaled.longValue() : MOVED);
+    }
+
+    /**
+     * Moves from the long to the reference, if the long still holds the expected value.
+     */
+    private boolean move(long expectedMinor, Money newValue) {
+        if (minor.compareAndSet(expectedMinor, MOVED)) {
+            big.set(newValue);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Gets the reference once moved, waiting for the thread that moved it to set it.
+     */
+    private Money getBig() {
+        Money value = big.get();
+        while (value == null) {
+            Thread.yield();
+            value = big.get();
+        }
+        return value;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the current value as a string.
+     *
+     * @return the value as per {@link Money#toString()}, never null
+     */
+    @Override
+    public String toString() {
+        return get().toString();
+    }
+
+}
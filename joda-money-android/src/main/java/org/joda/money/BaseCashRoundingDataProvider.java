@@ -0,0 +1,34 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+
+import java.math.BigDecimal;
+
+/**
+ * Provider for the cash rounding increments of currencies.
+ */
+public abstract class BaseCashRoundingDataProvider {
+
+    /**
+     * Registers all the cash roundings known by this provider.
+     *
+     * @throws Exception if an error occurs
+     */
+    public abstract void registerRoundings() throws Exception;
+
+    /**
+     * Registers the cash rounding increment of a currency, replacing any existing increment.
+     * <p>
+     * This method is called by {@link #registerRoundings()} to perform the
+     * actual registration of a rounding.
+     *
+     * @param currencyCode the currency code, not null
+     * @param increment    the smallest cash amount, greater than zero, not null
+     * @throws IllegalCurrencyException if the currency is not registered
+     * @throws IllegalArgumentException if the increment is invalid for the currency
+     */
+    protected final void registerRounding(@NonNull String currencyCode, @NonNull BigDecimal increment) {
+        CashRounding.registerRounding(CurrencyUnit.of(currencyCode), increment);
+    }
+
+}
@@ -71,6 +71,14 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
      * The regex for parsing.
      */
     private static final Pattern PARSE_REGEX = Pattern.compile("[+-]?[0-9]*[.]?[0-9]*");
+    /**
+     * The parcel marker for an unscaled amount written as a long.
+     */
+    private static final byte PARCEL_LONG = 0;
+    /**
+     * The parcel marker for an unscaled amount written as a byte array.
+     */
+    private static final byte PARCEL_BYTES = 1;
     /**
      * The currency, not null.
      */
@@ -84,10 +92,19 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
 
     /**
      * Constructor for Parcel
+     * <p>
+     * The currency is looked up by code, so must be registered in the reading process.
+     *
+     * @see #writeToParcel(Parcel, int)
      */
     protected BigMoney(Parcel in) {
-        currency = in.readParcelable(CurrencyUnit.class.getClassLoader());
-        amount = (BigDecimal) in.readSerializable();
+        currency = CurrencyUnit.of(in.readString());
+        int scale = in.readInt();
+        if (in.readByte() == PARCEL_LONG) {
+            amount = BigDecimal.valueOf(in.readLong(), scale);
+        } else {
+            amount = new BigDecimal(new BigInteger(in.createByteArray()), scale);
+        }
     }
 
     /**
@@ -1659,6 +1676,34 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
         return convertedTo(currency, conversionMultipler).withScale(getScale(), roundingMode);
     }
 
+    /**
+     * Returns a copy of this monetary value converted into another currency
+     * using the rate from a provider, with the scale of the new currency.
+     * <p>
+     * This is equivalent to calling {@link #convertedTo(CurrencyUnit, BigDecimal)} with the rate
+     * from the provider, followed by {@link #withCurrencyScale(RoundingMode)}.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     *
+     * @param currency     the new currency, not null
+     * @param provider     the provider of the conversion rate, not null
+     * @param roundingMode the rounding mode to use to bring the decimal places back in line, not null
+     * @return the new converted instance, never null
+     * @throws IllegalArgumentException if the provider has no rate for the currencies;
+     *                                  or if the rate is invalid as per {@link #convertedTo(CurrencyUnit, BigDecimal)}
+     * @throws ArithmeticException      if the rounding fails
+     */
+    @NonNull
+    public BigMoney convertedTo(@NonNull CurrencyUnit currency, @NonNull ExchangeRateProvider provider, @NonNull RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(provider, "ExchangeRateProvider must not be null");
+        BigDecimal rate = provider.getRate(this.currency, currency);
+        if (rate == null) {
+            throw new IllegalArgumentException("No conversion rate from " + this.currency + " to " + currency);
+        }
+        return convertedTo(currency, rate).withCurrencyScale(roundingMode);
+    }
+
     //-----------------------------------------------------------------------
 
     /**
@@ -1833,11 +1878,22 @@ public final class BigMoney implements BigMoneyProvider, Comparable<BigMoneyProv
     }
 
     /**
+     * Writes the currency code, the scale and the unscaled amount, which is
+     * written as a long where it fits and as a byte array otherwise.
+     *
      * @see android.os.Parcelable#writeToParcel
      */
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeParcelable(currency, flags);
-        dest.writeSerializable(amount);
+        dest.writeString(currency.getCode());
+        dest.writeInt(amount.scale());
+        BigInteger unscaled = amount.unscaledValue();
+        if (unscaled.bitLength() <= 63) {
+            dest.writeByte(PARCEL_LONG);
+            dest.writeLong(unscaled.longValue());
+        } else {
+            dest.writeByte(PARCEL_BYTES);
+            dest.writeByteArray(unscaled.toByteArray());
+        }
     }
 }
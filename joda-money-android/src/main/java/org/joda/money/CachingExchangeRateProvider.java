@@ -0,0 +1,426 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.math.BigDecimal;
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches the rates of another {@code ExchangeRateProvider} for a limited time.
+ * <p>
+ * Each currency pair is cached separately and expires a fixed time after it was loaded.
+ * The time to live can be overridden for individual pairs.
+ * Reads of cached rates do not lock. When several threads miss on the same pair at
+ * the same time, only one of them calls the underlying provider and the others wait
+ * for its result. Rates that are not available are not cached, and a failure of the
+ * underlying provider is passed to every waiting thread.
+ * <p>
+ * The cache is bounded. When it grows beyond the maximum size, expired entries are
+ * removed, followed by an arbitrary quarter of the remaining entries if necessary.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class CachingExchangeRateProvider implements ExchangeRateProvider {
+
+    /**
+     * The default maximum number of cached pairs.
+     */
+    public static final int DEFAULT_MAX_SIZE = 1024;
+
+    /**
+     * The provider to load rates from.
+     */
+    private final ExchangeRateProvider provider;
+    /**
+     * The default time to live in nanoseconds.
+     */
+    private final long timeToLiveNanos;
+    /**
+     * The maximum number of cached pairs.
+     */
+    private final int maxSize;
+    /**
+     * The cached entries, keyed by pair.
+     */
+    private final ConcurrentMap<Pair, Entry> cache;
+    /**
+     * The time to live in nanoseconds of pairs that override the default.
+     */
+    private final ConcurrentMap<Pair, Long> timeToLiveOverrides = new ConcurrentHashMap<>();
+    /**
+     * The number of cache hits.
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+    /**
+     * The number of cache misses.
+     */
+    private final AtomicLong missCount = new AtomicLong();
+    /**
+     * The number of loads that failed.
+     */
+    private final AtomicLong loadFailureCount = new AtomicLong();
+    /**
+     * The total time spent loading in nanoseconds.
+     */
+    private final AtomicLong totalLoadTime = new AtomicLong();
+    /**
+     * The number of evicted pairs.
+     */
+    private final AtomicLong evictionCount = new AtomicLong();
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Constructor using the default maximum size.
+     *
+     * @param provider   the provider to load rates from, not null
+     * @param timeToLive the time that a rate remains cached, greater than zero
+     * @param unit       the unit of the time to live, not null
+     * @throws IllegalArgumentException if the time to live is invalid
+     */
+    public CachingExchangeRateProvider(@NonNull ExchangeRateProvider provider, long timeToLive, @NonNull TimeUnit unit) {
+        this(provider, timeToLive, unit, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param provider   the provider to load rates from, not null
+     * @param timeToLive the time that a rate remains cached, greater than zero
+     * @param unit       the unit of the time to live, not null
+     * @param maxSize    the maximum number of cached pairs, greater than zero
+     * @throws IllegalArgumentException if the time to live or maximum size is invalid
+     */
+    public CachingExchangeRateProvider(@NonNull ExchangeRateProvider provider, long timeToLive, @NonNull TimeUnit unit, int maxSize) {
+        MoneyUtils.checkNotNull(provider, "ExchangeRateProvider must not be null");
+        MoneyUtils.checkNotNull(unit, "TimeUnit must not be null");
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be greater than zero");
+        }
+        this.provider = provider;
+        this.timeToLiveNanos = toNanos(timeToLive, unit);
+        this.maxSize = maxSize;
+        this.cache = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+    }
+
+    private static long toNanos(long timeToLive, TimeUnit unit) {
+        if (timeToLive <= 0) {
+            throw new IllegalArgumentException("Time to live must be greater than zero");
+        }
+        return unit.toNanos(timeToLive);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the provider that rates are loaded from.
+     *
+     * @return the provider, never null
+     */
+    @NonNull
+    public ExchangeRateProvider getProvider() {
+        return provider;
+    }
+
+    /**
+     * Gets the maximum number of cached pairs.
+     *
+     * @return the maximum size
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Overrides the time to live of one currency pair.
+     * <p>
+     * The new time to live applies the next time the pair is loaded.
+     *
+     * @param source     the currency to convert from, not null
+     * @param target     the currency to convert to, not null
+     * @param timeToLive the time that the rate remains cached, greater than zero
+     * @param unit       the unit of the time to live, not null
+     * @throws IllegalArgumentException if the time to live is invalid
+     */
+    public void setTimeToLive(@NonNull CurrencyUnit source, @NonNull CurrencyUnit target, long timeToLive, @NonNull TimeUnit unit) {
+        MoneyUtils.checkNotNull(source, "Source CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(target, "Target CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(unit, "TimeUnit must not be null");
+        timeToLiveOverrides.put(new Pair(source, target), toNanos(timeToLive, unit));
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the rate used to convert from one currency to another, using the cache where possible.
+     *
+     * @param source the currency to convert from, not null
+     * @param target the currency to convert to, not null
+     * @return the rate, one if the currencies are the same, null if no rate is available
+     */
+    @Override
+    @Nullable
+    public BigDecimal getRate(@NonNull CurrencyUnit source, @NonNull CurrencyUnit target) {
+        MoneyUtils.checkNotNull(source, "Source CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(target, "Target CurrencyUnit must not be null");
+        if (source.equals(target)) {
+            return BigDecimal.ONE;
+        }
+        Pair pair = new Pair(source, target);
+        Entry created = null;
+        while (true) {
+            Entry entry = cache.get(pair);
+            if (entry != null && !entry.isExpired(System.nanoTime())) {
+                hitCount.incrementAndGet();
+                return entry.getRate();
+            }
+            if (created == null) {
+                created = new Entry(pair);
+            }
+            if (entry == null ? cache.putIfAbsent(pair, created) == null : cache.replace(pair, entry, created)) {
+                missCount.incrementAndGet();
+                if (entry == null && cache.size() > maxSize) {
+                    evict();
+                }
+                return load(created);
+            }
+        }
+    }
+
+    /**
+     * Loads the rate of a newly cached entry on the calling thread.
+     */
+    private BigDecimal load(Entry entry) {
+        long start = System.nanoTime();
+        entry.task.run();
+        long end = System.nanoTime();
+        totalLoadTime.addAndGet(end - start);
+        BigDecimal rate;
+        try {
+            rate = entry.getRate();
+        } catch (RuntimeException | Error ex) {
+            loadFailureCount.incrementAndGet();
+            cache.remove(entry.pair, entry);
+            throw ex;
+        }
+        if (rate == null) {
+            cache.remove(entry.pair, entry);
+        } else {
+            Long override = timeToLiveOverrides.get(entry.pair);
+            entry.expiry = end + (override != null ? override : timeToLiveNanos);
+            entry.loaded = true;
+        }
+        return rate;
+    }
+
+    /**
+     * Evicts the expired entries, and an arbitrary quarter of the others if still too large.
+     */
+    private void evict() {
+        long now = System.nanoTime();
+        for (Iterator<Entry> it = cache.values().iterator(); it.hasNext(); ) {
+            if (it.next().isExpired(now)) {
+                it.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+        if (cache.size() > maxSize) {
+            int target = maxSize - Math.max(1, maxSize / 4);
+            Iterator<Pair> it = cache.keySet().iterator();
+            while (cache.size() > target && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictionCount.incrementAndGet();
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Removes the cached rate of one currency pair.
+     *
+     * @param source the currency to convert from, not null
+     * @param target the currency to convert to, not null
+     */
+    public void invalidate(@NonNull CurrencyUnit source, @NonNull CurrencyUnit target) {
+        MoneyUtils.checkNotNull(source, "Source CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(target, "Target CurrencyUnit must not be null");
+        cache.remove(new Pair(source, target));
+    }
+
+    /**
+     * Removes all cached rates, leaving the counters unchanged.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    /**
+     * Gets the number of pairs currently cached.
+     *
+     * @return the number of cached pairs
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Gets the number of requests answered from the cache, including those that
+     * waited for a load started by another thread.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of requests that loaded from the underlying provider.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the number of loads that threw an exception.
+     *
+     * @return the number of failed loads
+     */
+    public long getLoadFailureCount() {
+        return loadFailureCount.get();
+    }
+
+    /**
+     * Gets the total time spent loading from the underlying provider.
+     *
+     * @return the total load time in nanoseconds
+     */
+    public long getTotalLoadTime() {
+        return totalLoadTime.get();
+    }
+
+    /**
+     * Gets the average time spent on each load from the underlying provider.
+     *
+     * @return the average load time in nanoseconds, zero if nothing has been loaded
+     */
+    public double getAverageLoadPenalty() {
+        long misses = missCount.get();
+        return (misses == 0 ? 0 : (double) totalLoadTime.get() / misses);
+    }
+
+    /**
+     * Gets the number of pairs evicted from the cache.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets a string summary of the cache.
+     *
+     * @return a string summarising the cache, never null
+     */
+    @Override
+    public String toString() {
+        return "CachingExchangeRateProvider[" + provider + ", size=" + size() +
+                ", hits=" + getHitCount() + ", misses=" + getMissCount() + "]";
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * A currency pair used as the cache key.
+     */
+    private static final class Pair {
+        private final CurrencyUnit source;
+        private final CurrencyUnit target;
+
+        Pair(CurrencyUnit source, CurrencyUnit target) {
+            this.source = source;
+            this.target = target;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other == this) {
+                return true;
+            }
+            if (other instanceof Pair) {
+                Pair otherPair = (Pair) other;
+                return source.equals(otherPair.source) && target.equals(otherPair.target);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return source.hashCode() * 31 + target.hashCode();
+        }
+    }
+
+    /**
+     * A cached rate, which may still be loading.
+     */
+    private final class Entry implements Callable<BigDecimal> {
+        private final Pair pair;
+        private final FutureTask<BigDecimal> task = new FutureTask<>(this);
+        private volatile long expiry;
+        private volatile boolean loaded;
+
+        Entry(Pair pair) {
+            this.pair = pair;
+        }
+
+        @Override
+        public BigDecimal call() {
+            return provider.getRate(pair.source, pair.target);
+        }
+
+        boolean isExpired(long now) {
+            return loaded && now - expiry >= 0;
+        }
+
+        BigDecimal getRate() {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return task.get();
+                    } catch (InterruptedException ex) {
+                        interrupted = true;
+                    }
+                }
+            } catch (ExecutionException ex) {
+                Throwable cause = ex.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+
+}
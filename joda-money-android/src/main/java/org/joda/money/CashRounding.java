@@ -0,0 +1,335 @@
+package org.joda.money;
+
+import android.content.Context;
+
+import androidx.annotation.NonNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import wonton.jodamoney.JodaMoneyAndroid;
+
+/**
+ * Rounds monetary values to the smallest amount that can be paid in cash.
+ * <p>
+ * Some currencies have no coins for their smallest unit, so cash payments are rounded
+ * to an increment, such as 'CHF 0.05' or 'SEK 1'. This class applies such an increment
+ * to single values and in bulk, using long arithmetic on the minor units.
+ * <p>
+ * The increment of each currency is held in a registry, loaded by an instance of
+ * {@link BaseCashRoundingDataProvider}. By default, the increments are read from the
+ * resource {@code /assets/CashRoundingData.csv} on first use, once {@link JodaMoneyAndroid}
+ * holds the application context. A currency without a registered increment
+ * rounds to its smallest unit, which leaves a {@code Money} unchanged.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class CashRounding {
+
+    /**
+     * Map of registered roundings by currency.
+     */
+    private static final ConcurrentMap<CurrencyUnit, CashRounding> roundingsByCurrency = new ConcurrentHashMap<>();
+    /**
+     * Whether the bundled roundings have been loaded, or an attempt made to load them.
+     */
+    private static volatile boolean loaded;
+
+    /**
+     * The currency.
+     */
+    private final CurrencyUnit currency;
+    /**
+     * The increment, at the scale of the currency.
+     */
+    private final BigDecimal increment;
+    /**
+     * The increment in minor units.
+     */
+    private final long incrementMinor;
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Registers the rounding of a currency, replacing any existing rounding.
+     *
+     * @param currency  the currency, not null
+     * @param increment the increment, not null
+     * @return the registered rounding, never null
+     * @throws IllegalArgumentException if the increment is invalid for the currency
+     */
+    static synchronized CashRounding registerRounding(@NonNull CurrencyUnit currency, @NonNull BigDecimal increment) {
+        CashRounding rounding = of(currency, increment);
+        roundingsByCurrency.put(currency, rounding);
+        return rounding;
+    }
+
+    /**
+     * Lists the roundings that have been registered.
+     *
+     * @return the sorted, independent, list of registered roundings, never null
+     */
+    @NonNull
+    public static List<CashRounding> registeredRoundings() {
+        if (!loaded) {
+            loadRoundings();
+        }
+        List<CashRounding> list = new ArrayList<>(roundingsByCurrency.values());
+        Collections.sort(list, (rounding1, rounding2) -> rounding1.currency.compareTo(rounding2.currency));
+        return list;
+    }
+
+    /**
+     * Loads the bundled roundings on first use.
+     * <p>
+     * This needs the context held by {@link JodaMoneyAndroid} to read the asset.
+     * Without a context, nothing is loaded and the load is tried again on next use.
+     * If loading fails, the exception is thrown once and the registry keeps any
+     * roundings registered before the failure.
+     */
+    private static synchronized void loadRoundings() {
+        Context context = JodaMoneyAndroid.applicationContext;
+        if (loaded || context == null) {
+            return;
+        }
+        loaded = true;
+        try {
+            new CashRoundingDataProvider(context).registerRoundings();
+        } catch (RuntimeException ex) {
+            throw ex;
+        } catch (Exception ex) {
+            throw new RuntimeException(ex.toString(), ex);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Obtains the registered cash rounding of a currency.
+     * <p>
+     * If no rounding is registered, the result rounds to the smallest unit of the currency.
+     *
+     * @param currency the currency, not null
+     * @return the cash rounding, never null
+     */
+    @NonNull
+    public static CashRounding of(@NonNull CurrencyUnit currency) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        if (!loaded) {
+            loadRoundings();
+        }
+        CashRounding rounding = roundingsByCurrency.get(currency);
+        if (rounding != null) {
+            return rounding;
+        }
+        return new CashRounding(currency, BigDecimal.ONE.movePointLeft(currency.getDecimalPlaces()), 1);
+    }
+
+    /**
+     * Obtains a cash rounding with a specific increment, without registering it.
+     * <p>
+     * The increment must be a whole number of the smallest unit of the currency,
+     * for example 'CHF 0.05' but not 'CHF 0.005'.
+     *
+     * @param currency  the currency, not null
+     * @param increment the smallest cash amount, greater than zero, not null
+     * @return the cash rounding, never null
+     * @throws IllegalArgumentException if the increment is invalid for the currency
+     */
+    @NonNull
+    public static CashRounding of(@NonNull CurrencyUnit currency, @NonNull BigDecimal increment) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(increment, "Increment must not be null");
+        if (increment.signum() <= 0) {
+            throw new IllegalArgumentException("Increment must be greater than zero");
+        }
+        BigDecimal scaled;
+        long incrementMinor;
+        try {
+            scaled = increment.setScale(currency.getDecimalPlaces());
+            incrementMinor = scaled.unscaledValue().longValue();
+            if (scaled.unscaledValue().bitLength() > 63) {
+                throw new ArithmeticException();
+            }
+        } catch (ArithmeticException ex) {
+            throw new IllegalArgumentException("Invalid increment for currency " + currency + ": " + increment);
+        }
+        return new CashRounding(currency, scaled, incrementMinor);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param currency       the currency, not null
+     * @param increment      the increment at the scale of the currency, not null
+     * @param incrementMinor the increment in minor units, greater than zero
+     */
+    private CashRounding(CurrencyUnit currency, BigDecimal increment, long incrementMinor) {
+        this.currency = currency;
+        this.increment = increment;
+        this.incrementMinor = incrementMinor;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the currency.
+     *
+     * @return the currency, never null
+     */
+    @NonNull
+    public CurrencyUnit getCurrencyUnit() {
+        return currency;
+    }
+
+    /**
+     * Gets the increment, at the scale of the currency.
+     *
+     * @return the smallest cash amount, never null
+     */
+    @NonNull
+    public BigDecimal getIncrement() {
+        return increment;
+    }
+
+    /**
+     * Gets the increment in minor units.
+     *
+     * @return the smallest cash amount in minor units
+     */
+    public long getIncrementMinor() {
+        return incrementMinor;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Rounds a monetary value to a multiple of the increment.
+     * <p>
+     * For example, rounding 'CHF 1.23' using {@code HALF_UP} and an increment of
+     * 'CHF 0.05' gives 'CHF 1.25'.
+     *
+     * @param money        the money to round, not null
+     * @param roundingMode the rounding mode to use, not null
+     * @return the rounded money, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     * @throws ArithmeticException       if the rounding mode is {@code UNNECESSARY} and rounding is required
+     */
+    @NonNull
+    public Money round(@NonNull Money money, @NonNull RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(money, "Money must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (!currency.equals(money.getCurrencyUnit())) {
+            throw new CurrencyMismatchException(currency, money.getCurrencyUnit());
+        }
+        if (incrementMinor == 1) {
+            return money;
+        }
+        BigInteger unscaled = money.getAmount().unscaledValue();
+        if (unscaled.bitLength() <= 63) {
+            long amount = unscaled.longValue();
+            long count = MoneyMath.divideAndRound(amount, incrementMinor, roundingMode);
+            if (!MoneyMath.isMultiplyOverflow(count, incrementMinor)) {
+                long result = count * incrementMinor;
+                return (result == amount ? money : Money.ofMinor(currency, result));
+            }
+        }
+        return new Money(new BigMoney(currency, roundBig(money.getAmount(), roundingMode)));
+    }
+
+    /**
+     * Rounds an array of monetary values to multiples of the increment.
+     *
+     * @param moneys       the money to round, not null, no null elements
+     * @param roundingMode the rounding mode to use, not null
+     * @return the rounded money, in the same order, never null
+     * @throws CurrencyMismatchException if any currency differs
+     * @throws ArithmeticException       if the rounding mode is {@code UNNECESSARY} and rounding is required
+     */
+    @NonNull
+    public Money[] roundAll(@NonNull Money[] moneys, @NonNull RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(moneys, "Money array must not be null");
+        Money[] result = new Money[moneys.length];
+        for (int i = 0; i < moneys.length; i++) {
+            result[i] = round(moneys[i], roundingMode);
+        }
+        return result;
+    }
+
+    /**
+     * Rounds an array of amounts in minor units to multiples of the increment.
+     * <p>
+     * Each amount is at the scale of the currency, as per {@link Money#getAmountMinorLong()}.
+     *
+     * @param amountsMinor the amounts in minor units, not null
+     * @param roundingMode the rounding mode to use, not null
+     * @return the rounded amounts in minor units, never null
+     * @throws ArithmeticException if the rounding mode is {@code UNNECESSARY} and rounding is required,
+     *                             or if a result does not fit in a long
+     */
+    @NonNull
+    public long[] roundMinor(@NonNull long[] amountsMinor, @NonNull RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(amountsMinor, "Amounts must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        long[] result = new long[amountsMinor.length];
+        for (int i = 0; i < result.length; i++) {
+            long count = MoneyMath.divideAndRound(amountsMinor[i], incrementMinor, roundingMode);
+            if (MoneyMath.isMultiplyOverflow(count, incrementMinor)) {
+                throw new ArithmeticException("Long overflow");
+            }
+            result[i] = count * incrementMinor;
+        }
+        return result;
+    }
+
+    private BigDecimal roundBig(BigDecimal amount, RoundingMode roundingMode) {
+        return amount.divide(increment, 0, roundingMode).multiply(increment);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Checks if this rounding equals another rounding.
+     *
+     * @param other the other rounding, null returns false
+     * @return true if the currency and increment are equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (other instanceof CashRounding) {
+            CashRounding otherRounding = (CashRounding) other;
+            return currency.equals(otherRounding.currency) && incrementMinor == otherRounding.incrementMinor;
+        }
+        return false;
+    }
+
+    /**
+     * Returns a suitable hash code for the rounding.
+     *
+     * @return the hash code
+     */
+    @Override
+    public int hashCode() {
+        return currency.hashCode() ^ (int) (incrementMinor ^ (incrementMinor >>> 32));
+    }
+
+    /**
+     * Gets the rounding as a string, such as 'CHF 0.05'.
+     *
+     * @return the rounding as a string, never null
+     */
+    @Override
+    public String toString() {
+        return currency.getCode() + ' ' + increment.toPlainString();
+    }
+
+}
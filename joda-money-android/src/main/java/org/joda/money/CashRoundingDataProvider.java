@@ -0,0 +1,71 @@
+package org.joda.money;
+
+import android.content.Context;
+import android.content.res.AssetManager;
+
+import androidx.annotation.NonNull;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.Charset;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Loads cash roundings from our data file.
+ * <p>
+ * This reads the mandatory resource named {@code /assets/CashRoundingData.csv},
+ * in which each line holds a currency code and the smallest cash amount of that currency.
+ * Lines for currencies that are not registered are ignored.
+ */
+class CashRoundingDataProvider extends BaseCashRoundingDataProvider {
+
+    /**
+     * Default sources name, which is bundled in this library.
+     */
+    private static final String defaultFile = "CashRoundingData.csv";
+    /**
+     * Regex format for the csv line.
+     */
+    private static final Pattern REGEX_LINE = Pattern.compile("([A-Z]{3}),([0-9]+(?:\\.[0-9]+)?),?#?.*");
+    /**
+     * AssetManager to read asset from sources.
+     */
+    private final AssetManager assetManager;
+
+    /**
+     * Constructor needs a Context to load file from assets.
+     */
+    CashRoundingDataProvider(@NonNull Context context) {
+        this.assetManager = context.getAssets();
+    }
+
+    /**
+     * Registers all the cash roundings known by this provider.
+     *
+     * @throws Exception if an error occurs
+     */
+    @Override
+    public void registerRoundings() throws Exception {
+        try (InputStream in = assetManager.open(defaultFile)) {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(in, Charset.forName("UTF-8")));
+            String line;
+            while ((line = reader.readLine()) != null) {
+                Matcher matcher = REGEX_LINE.matcher(line);
+                if (matcher.matches()) {
+                    String currencyCode = Objects.requireNonNull(matcher.group(1));
+                    BigDecimal increment = new BigDecimal(Objects.requireNonNull(matcher.group(2)));
+                    try {
+                        registerRounding(currencyCode, increment);
+                    } catch (IllegalCurrencyException ex) {
+                        // skip currencies that are not registered
+                    }
+                }
+            }
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,422 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * An immutable table of conversion rates between pairs of currencies,
+ * used to convert many monetary values at once.
+ * <p>
+ * Each conversion produces exactly the same result as
+ * {@link Money#convertedTo(CurrencyUnit, BigDecimal, RoundingMode)} with the rate held
+ * for the pair. The checks on each rate are performed once when the table is built,
+ * and the rates are stored in a matrix indexed by currency. Where the rate has few enough
+ * significant digits for the product to fit in a long, the conversion is performed in
+ * long arithmetic, falling back to {@code BigDecimal} otherwise.
+ * <p>
+ * Converting a currency to itself always uses a rate of one.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class ConversionRateTable implements ExchangeRateProvider {
+
+    /**
+     * The powers of ten that fit in a long.
+     */
+    private static final long[] POWERS_OF_TEN = new long[19];
+    /**
+     * The size of the index by numeric code.
+     */
+    private static final int NUMERIC_INDEX_SIZE = 1000;
+
+    static {
+        long value = 1;
+        for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = value;
+            value *= 10;
+        }
+    }
+
+    /**
+     * The currencies, in the order added.
+     */
+    private final CurrencyUnit[] currencies;
+    /**
+     * The index of each currency plus one, by numeric code, zero if not indexed.
+     */
+    private final short[] numericIndex;
+    /**
+     * The index of each currency.
+     */
+    private final Map<CurrencyUnit, Integer> index;
+    /**
+     * The rates, indexed by source times size plus target, null if no rate.
+     */
+    private final BigDecimal[] rates;
+    /**
+     * The long multiplier for each pair, adjusted by the difference in scale.
+     */
+    private final long[] multipliers;
+    /**
+     * The long divisor for each pair, zero if the pair cannot use long arithmetic.
+     */
+    private final long[] divisors;
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Constructor.
+     *
+     * @param rateMap the rates by source and target currency, not null
+     */
+    private ConversionRateTable(Map<CurrencyUnit, Map<CurrencyUnit, BigDecimal>> rateMap) {
+        LinkedHashMap<CurrencyUnit, Integer> indexMap = new LinkedHashMap<>();
+        for (Map.Entry<CurrencyUnit, Map<CurrencyUnit, BigDecimal>> entry : rateMap.entrySet()) {
+            addIndex(indexMap, entry.getKey());
+            for (CurrencyUnit target : entry.getValue().keySet()) {
+                addIndex(indexMap, target);
+            }
+        }
+        int size = indexMap.size();
+        this.currencies = indexMap.keySet().toArray(new CurrencyUnit[size]);
+        this.index = indexMap;
+        this.numericIndex = new short[NUMERIC_INDEX_SIZE];
+        for (int i = 0; i < size && i < Short.MAX_VALUE; i++) {
+            int numericCode = currencies[i].getNumericCode();
+            if (numericCode >= 0 && numericCode < NUMERIC_INDEX_SIZE && numericIndex[numericCode] == 0) {
+                numericIndex[numericCode] = (short) (i + 1);
+            }
+        }
+        this.rates = new BigDecimal[size * size];
+        this.multipliers = new long[size * size];
+        this.divisors = new long[size * size];
+        for (int i = 0; i < size; i++) {
+            setRate(i, i, BigDecimal.ONE);
+        }
+        for (Map.Entry<CurrencyUnit, Map<CurrencyUnit, BigDecimal>> entry : rateMap.entrySet()) {
+            int source = index.get(entry.getKey());
+            for (Map.Entry<CurrencyUnit, BigDecimal> rate : entry.getValue().entrySet()) {
+                setRate(source, index.get(rate.getKey()), rate.getValue());
+            }
+        }
+    }
+
+    private static void addIndex(Map<CurrencyUnit, Integer> indexMap, CurrencyUnit currency) {
+        if (!indexMap.containsKey(currency)) {
+            indexMap.put(currency, indexMap.size());
+        }
+    }
+
+    private void setRate(int source, int target, BigDecimal rate) {
+        int pair = source * currencies.length + target;
+        rates[pair] = rate;
+        BigDecimal normalized = (rate.scale() < 0 ? rate.setScale(0) : rate);
+        BigInteger unscaled = normalized.unscaledValue();
+        if (unscaled.bitLength() > 63) {
+            return;
+        }
+        int exponent = currencies[source].getDecimalPlaces() + normalized.scale() - currencies[target].getDecimalPlaces();
+        long mantissa = unscaled.longValue();
+        if (exponent > 0) {
+            if (exponent < POWERS_OF_TEN.length) {
+                multipliers[pair] = mantissa;
+                divisors[pair] = POWERS_OF_TEN[exponent];
+            }
+        } else if (-exponent < POWERS_OF_TEN.length && !MoneyMath.isMultiplyOverflow(mantissa, POWERS_OF_TEN[-exponent])) {
+            multipliers[pair] = mantissa * POWERS_OF_TEN[-exponent];
+            divisors[pair] = 1;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the currencies in the table.
+     *
+     * @return the unmodifiable set of currencies, never null
+     */
+    @NonNull
+    public Set<CurrencyUnit> getCurrencies() {
+        return Collections.unmodifiableSet(index.keySet());
+    }
+
+    /**
+     * Gets the rate used to convert from one currency to another.
+     *
+     * @param source the currency to convert from, not null
+     * @param target the currency to convert to, not null
+     * @return the rate, one if the currencies are the same, null if the table has no rate
+     */
+    @Override
+    @Nullable
+    public BigDecimal getRate(@NonNull CurrencyUnit source, @NonNull CurrencyUnit target) {
+        MoneyUtils.checkNotNull(source, "Source CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(target, "Target CurrencyUnit must not be null");
+        if (source.equals(target)) {
+            return BigDecimal.ONE;
+        }
+        int sourceIndex = indexOf(source);
+        int targetIndex = indexOf(target);
+        if (sourceIndex < 0 || targetIndex < 0) {
+            return null;
+        }
+        return rates[sourceIndex * currencies.length + targetIndex];
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Converts a monetary value to another currency.
+     * <p>
+     * The result is the same as {@link Money#convertedTo(CurrencyUnit, BigDecimal, RoundingMode)}
+     * using the rate in this table.
+     *
+     * @param money        the money to convert, not null
+     * @param target       the currency to convert to, not null
+     * @param roundingMode the rounding mode to use, not null
+     * @return the converted money, never null
+     * @throws IllegalArgumentException if the table has no rate for the currencies
+     * @throws ArithmeticException      if the rounding fails
+     */
+    @NonNull
+    public Money convert(@NonNull Money money, @NonNull CurrencyUnit target, @NonNull RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(money, "Money must not be null");
+        MoneyUtils.checkNotNull(target, "Target CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (money.getCurrencyUnit().equals(target)) {
+            return money;
+        }
+        return convert(money, pairOf(money.getCurrencyUnit(), target), target, roundingMode);
+    }
+
+    /**
+     * Converts an array of monetary values to another currency.
+     * <p>
+     * The values may be in any currency in the table.
+     * Each result is the same as {@link Money#convertedTo(CurrencyUnit, BigDecimal, RoundingMode)}
+     * using the rate in this table.
+     *
+     * @param moneys       the money to convert, not null, no null elements
+     * @param target       the currency to convert to, not null
+     * @param roundingMode the rounding mode to use, not null
+     * @return the converted money, in the same order, never null
+     * @throws IllegalArgumentException if the table has no rate for the currencies
+     * @throws ArithmeticException      if the rounding fails
+     */
+    @NonNull
+    public Money[] convertAll(@NonNull Money[] moneys, @NonNull CurrencyUnit target, @NonNull RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(moneys, "Money array must not be null");
+        return convertAll(Arrays.asList(moneys), target, roundingMode).toArray(new Money[moneys.length]);
+    }
+
+    /**
+     * Converts a collection of monetary values to another currency.
+     * <p>
+     * The values may be in any currency in the table.
+     * Each result is the same as {@link Money#convertedTo(CurrencyUnit, BigDecimal, RoundingMode)}
+     * using the rate in this table.
+     *
+     * @param moneys       the money to convert, not null, no null elements
+     * @param target       the currency to convert to, not null
+     * @param roundingMode the rounding mode to use, not null
+     * @return the converted money, in iteration order, never null
+     * @throws IllegalArgumentException if the table has no rate for the currencies
+     * @throws ArithmeticException      if the rounding fails
+     */
+    @NonNull
+    public List<Money> convertAll(@NonNull Collection<Money> moneys, @NonNull CurrencyUnit target, @NonNull RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(moneys, "Money collection must not be null");
+        MoneyUtils.checkNotNull(target, "Target CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        List<Money> result = new ArrayList<>(moneys.size());
+        CurrencyUnit lastSource = null;
+        int pair = -1;
+        for (Money money : moneys) {
+            MoneyUtils.checkNotNull(money, "Money must not be null");
+            CurrencyUnit source = money.getCurrencyUnit();
+            if (source.equals(target)) {
+                result.add(money);
+                continue;
+            }
+            if (source != lastSource) {
+                pair = pairOf(source, target);
+                lastSource = source;
+            }
+            result.add(convert(money, pair, target, roundingMode));
+        }
+        return result;
+    }
+
+    /**
+     * Converts an array of amounts in minor units from one currency to another.
+     * <p>
+     * Each amount is at the scale of the source currency, and each result is at the
+     * scale of the target currency, as per {@link Money#getAmountMinorLong()}.
+     * No objects are created per amount unless the long arithmetic would overflow.
+     *
+     * @param source       the currency to convert from, not null
+     * @param amountsMinor the amounts in minor units of the source currency, not null
+     * @param target       the currency to convert to, not null
+     * @param roundingMode the rounding mode to use, not null
+     * @return the converted amounts in minor units of the target currency, never null
+     * @throws IllegalArgumentException if the table has no rate for the currencies
+     * @throws ArithmeticException      if the rounding fails or a result does not fit in a long
+     */
+    @NonNull
+    public long[] convertMinor(@NonNull CurrencyUnit source, @NonNull long[] amountsMinor, @NonNull CurrencyUnit target, @NonNull RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(source, "Source CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(amountsMinor, "Amounts must not be null");
+        MoneyUtils.checkNotNull(target, "Target CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (source.equals(target)) {
+            return amountsMinor.clone();
+        }
+        int pair = pairOf(source, target);
+        long multiplier = multipliers[pair];
+        long divisor = divisors[pair];
+        long[] result = new long[amountsMinor.length];
+        for (int i = 0; i < result.length; i++) {
+            long amount = amountsMinor[i];
+            if (divisor != 0 && !MoneyMath.isMultiplyOverflow(amount, multiplier)) {
+                result[i] = (divisor == 1 ? amount * multiplier : MoneyMath.divideAndRound(amount * multiplier, divisor, roundingMode));
+            } else {
+                result[i] = BigDecimal.valueOf(amount, source.getDecimalPlaces())
+                        .multiply(rates[pair])
+                        .setScale(target.getDecimalPlaces(), roundingMode)
+                        .unscaledValue()
+                        .longValueExact();
+            }
+        }
+        return result;
+    }
+
+    //-----------------------------------------------------------------------
+
+    private Money convert(Money money, int pair, CurrencyUnit target, RoundingMode roundingMode) {
+        long divisor = divisors[pair];
+        if (divisor != 0) {
+            BigInteger unscaled = money.getAmount().unscaledValue();
+            long multiplier = multipliers[pair];
+            if (unscaled.bitLength() <= 63 && !MoneyMath.isMultiplyOverflow(unscaled.longValue(), multiplier)) {
+                long product = unscaled.longValue() * multiplier;
+                long result = (divisor == 1 ? product : MoneyMath.divideAndRound(product, divisor, roundingMode));
+                return new Money(new BigMoney(target, BigDecimal.valueOf(result, target.getDecimalPlaces())));
+            }
+        }
+        return money.convertedTo(target, rates[pair], roundingMode);
+    }
+
+    private int pairOf(CurrencyUnit source, CurrencyUnit target) {
+        int sourceIndex = indexOf(source);
+        int targetIndex = indexOf(target);
+        int pair = (sourceIndex < 0 || targetIndex < 0 ? -1 : sourceIndex * currencies.length + targetIndex);
+        if (pair < 0 || rates[pair] == null) {
+            throw new IllegalArgumentException("No conversion rate from " + source + " to " + target);
+        }
+        return pair;
+    }
+
+    private int indexOf(CurrencyUnit currency) {
+        int numericCode = currency.getNumericCode();
+        if (numericCode >= 0 && numericCode < NUMERIC_INDEX_SIZE) {
+            int found = numericIndex[numericCode] - 1;
+            if (found >= 0 && currencies[found].equals(currency)) {
+                return found;
+            }
+        }
+        Integer found = index.get(currency);
+        return (found != null ? found : -1);
+    }
+
+    /**
+     * Gets a string summary of the table.
+     *
+     * @return a string summarising the table, never null
+     */
+    @Override
+    public String toString() {
+        return "ConversionRateTable" + Arrays.toString(currencies);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Builder used to create a {@code ConversionRateTable}.
+     * <p>
+     * This class is mutable and intended for use by a single thread.
+     */
+    public static final class Builder {
+
+        /**
+         * The rates by source and target currency.
+         */
+        private final Map<CurrencyUnit, Map<CurrencyUnit, BigDecimal>> rates = new LinkedHashMap<>();
+
+        /**
+         * Constructor, creating an empty builder.
+         */
+        public Builder() {
+        }
+
+        /**
+         * Adds the rate used to convert from one currency to another, replacing any previous rate.
+         * <p>
+         * The rate is validated in the same way as
+         * {@link BigMoney#convertedTo(CurrencyUnit, BigDecimal)}.
+         *
+         * @param source the currency to convert from, not null
+         * @param target the currency to convert to, not null
+         * @param rate   the conversion multiplier, not negative, not null
+         * @return this, for chaining, never null
+         * @throws IllegalArgumentException if the currencies are the same and the rate is not one;
+         *                                  or if the rate is negative
+         */
+        @NonNull
+        public Builder addRate(@NonNull CurrencyUnit source, @NonNull CurrencyUnit target, @NonNull BigDecimal rate) {
+            MoneyUtils.checkNotNull(source, "Source CurrencyUnit must not be null");
+            MoneyUtils.checkNotNull(target, "Target CurrencyUnit must not be null");
+            MoneyUtils.checkNotNull(rate, "Rate must not be null");
+            if (source.equals(target)) {
+                if (rate.compareTo(BigDecimal.ONE) == 0) {
+                    return this;
+                }
+                throw new IllegalArgumentException("Cannot convert to the same currency");
+            }
+            if (rate.compareTo(BigDecimal.ZERO) < 0) {
+                throw new IllegalArgumentException("Cannot convert using a negative conversion multiplier");
+            }
+            Map<CurrencyUnit, BigDecimal> targets = rates.get(source);
+            if (targets == null) {
+                targets = new LinkedHashMap<>();
+                rates.put(source, targets);
+            }
+            targets.put(target, rate);
+            return this;
+        }
+
+        /**
+         * Builds the table from the rates added so far.
+         * <p>
+         * The builder may continue to be used after this method is called.
+         *
+         * @return the table, never null
+         */
+        @NonNull
+        public ConversionRateTable build() {
+            return new ConversionRateTable(rates);
+        }
+    }
+
+}
@@ -39,6 +39,7 @@ import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 import java.util.regex.Pattern;
 
 import wonton.jodamoney.JodaMoneyAndroid;
@@ -92,6 +93,10 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
      * Map of registered currencies by country.
      */
     private static final ConcurrentMap<String, CurrencyUnit> currenciesByCountry = new ConcurrentSkipListMap<>();
+    /**
+     * Array of registered currencies indexed by the letters of the code.
+     */
+    private static final AtomicReferenceArray<CurrencyUnit> currenciesByLetters = new AtomicReferenceArray<>(26 * 26 * 26);
 
     static {
         try {
@@ -268,7 +273,9 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
         for (String countryCode : countryCodes) {
             registerCountry(countryCode, currency);
         }
-        return currenciesByCode.get(currencyCode);
+        CurrencyUnit registered = currenciesByCode.get(currencyCode);
+        currenciesByLetters.set(lettersIndex(currencyCode, 0), registered);
+        return registered;
     }
 
     /**
@@ -408,6 +415,50 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
         return currency;
     }
 
+    /**
+     * Obtains an instance of {@code CurrencyUnit} for the three letter currency code at an index of some text.
+     * <p>
+     * This is equivalent to {@link #of(String)} on the three characters at the index,
+     * but looks the currency up by its letters without creating a string.
+     * This suits parsers that read currency codes from a larger text.
+     *
+     * @param text  the text containing the three-letter currency code, not null
+     * @param index the index of the first letter of the code
+     * @return the singleton instance, never null
+     * @throws IllegalCurrencyException  if the currency is unknown
+     * @throws IndexOutOfBoundsException if the index leaves fewer than three characters
+     */
+    @NonNull
+    public static CurrencyUnit of(@NonNull CharSequence text, int index) {
+        MoneyUtils.checkNotNull(text, "Text must not be null");
+        if (index < 0 || index > text.length() - 3) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        int letters = lettersIndex(text, index);
+        CurrencyUnit currency = (letters >= 0 ? currenciesByLetters.get(letters) : null);
+        if (currency == null) {
+            throw new IllegalCurrencyException("Unknown currency '" + text.subSequence(index, index + 3) + '\'');
+        }
+        return currency;
+    }
+
+    /**
+     * Gets the index of three upper-case ASCII letters in the array of currencies by letters.
+     *
+     * @return the index, or -1 if not three upper-case ASCII letters
+     */
+    private static int lettersIndex(CharSequence text, int index) {
+        int result = 0;
+        for (int i = index; i < index + 3; i++) {
+            char ch = text.charAt(i);
+            if (ch < 'A' || ch > 'Z') {
+                return -1;
+            }
+            result = result * 26 + (ch - 'A');
+        }
+        return result;
+    }
+
     /**
      * Obtains an instance of {@code CurrencyUnit} for the specified ISO-4217 numeric currency code.
      * <p>
@@ -454,6 +505,16 @@ public final class CurrencyUnit implements Comparable<CurrencyUnit>, Serializabl
         return currency;
     }
 
+    /**
+     * Checks if the numeric code of the currency maps back to the same registered currency.
+     *
+     * @param currency the currency to check, not null
+     * @return true if {@link #ofNumericCode(int)} returns the currency
+     */
+    static boolean numericCodeIdentifies(@NonNull CurrencyUnit currency) {
+        return currency.equals(currenciesByNumericCode.get(currency.getNumericCode()));
+    }
+
     /**
      * Obtains an instance of {@code CurrencyUnit} for the specified locale.
      * <p>
@@ -0,0 +1,30 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.math.BigDecimal;
+
+/**
+ * Provides the rates used to convert between currencies.
+ * <p>
+ * A rate is the multiplier applied to an amount in the source currency to obtain
+ * the amount in the target currency, as per {@link BigMoney#convertedTo(CurrencyUnit, BigDecimal)}.
+ * <p>
+ * Implementations should be thread-safe.
+ * {@link ConversionRateTable} is a fixed implementation backed by a rate matrix, and
+ * {@link CachingExchangeRateProvider} caches the rates of a slower provider.
+ */
+public interface ExchangeRateProvider {
+
+    /**
+     * Gets the rate used to convert from one currency to another.
+     *
+     * @param source the currency to convert from, not null
+     * @param target the currency to convert to, not null
+     * @return the rate, not negative, one if the currencies are the same, null if no rate is available
+     */
+    @Nullable
+    BigDecimal getRate(@NonNull CurrencyUnit source, @NonNull CurrencyUnit target);
+
+}
@@ -28,6 +28,7 @@ import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.math.BigDecimal;
+import java.math.BigInteger;
 import java.math.RoundingMode;
 import java.util.Arrays;
 import java.util.Iterator;
@@ -82,7 +83,7 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      * Constructor for Parcel
      */
     protected Money(Parcel in) {
-        money = in.readParcelable(BigMoney.class.getClassLoader());
+        money = new BigMoney(in);
     }
 
     /**
@@ -1245,6 +1246,70 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
 
     //-----------------------------------------------------------------------
 
+    /**
+     * Splits this monetary value into parts according to a set of ratios.
+     * <p>
+     * Each part is this amount multiplied by its ratio and divided by the total of the
+     * ratios, rounded towards zero to the scale of the currency. The smallest units
+     * left over are then added one at a time to the parts with a ratio greater than
+     * zero, in order, so the parts always add up to exactly this amount.
+     * For example, splitting 'USD 0.05' by the ratios 3 and 7 gives 'USD 0.02' and 'USD 0.03'.
+     * <p>
+     * The calculation is performed in long arithmetic, with a fallback for huge amounts.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     *
+     * @param ratios the ratios to split by, not empty, not negative, at least one greater than zero
+     * @return the parts, one per ratio, never null
+     * @throws IllegalArgumentException if the ratios are invalid
+     */
+    @NonNull
+    public Money[] allocate(@NonNull long... ratios) {
+        MoneyMath.checkRatios(ratios);
+        CurrencyUnit currency = getCurrencyUnit();
+        int scale = getScale();
+        Money[] parts = new Money[ratios.length];
+        BigInteger unscaled = getAmount().unscaledValue();
+        long[] shares = (unscaled.bitLength() <= 63 ? MoneyMath.allocateMinor(unscaled.longValue(), ratios) : null);
+        if (shares != null) {
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = new Money(new BigMoney(currency, BigDecimal.valueOf(shares[i], scale)));
+            }
+        } else {
+            BigInteger[] bigShares = MoneyMath.allocateMinor(unscaled, ratios);
+            for (int i = 0; i < parts.length; i++) {
+                parts[i] = new Money(new BigMoney(currency, new BigDecimal(bigShares[i], scale)));
+            }
+        }
+        return parts;
+    }
+
+    /**
+     * Splits this monetary value into a number of equal parts.
+     * <p>
+     * The smallest units left over are added one at a time to the first parts,
+     * so the parts always add up to exactly this amount.
+     * For example, splitting 'USD 0.10' into three parts gives 'USD 0.04', 'USD 0.03' and 'USD 0.03'.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     *
+     * @param parts the number of parts, greater than zero
+     * @return the parts, never null
+     * @throws IllegalArgumentException if the number of parts is invalid
+     * @see #allocate(long...)
+     */
+    @NonNull
+    public Money[] allocate(int parts) {
+        if (parts <= 0) {
+            throw new IllegalArgumentException("Number of parts must be greater than zero");
+        }
+        long[] ratios = new long[parts];
+        Arrays.fill(ratios, 1);
+        return allocate(ratios);
+    }
+
+    //-----------------------------------------------------------------------
+
     /**
      * Returns a copy of this monetary value with the amount negated.
      * <p>
@@ -1319,6 +1384,27 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
         return with(money.convertedTo(currency, conversionMultipler).withCurrencyScale(roundingMode));
     }
 
+    /**
+     * Returns a copy of this monetary value converted into another currency
+     * using the rate from a provider, with a rounding mode used to adjust
+     * the decimal places in the result.
+     * <p>
+     * This instance is immutable and unaffected by this method.
+     *
+     * @param currency     the new currency, not null
+     * @param provider     the provider of the conversion rate, not null
+     * @param roundingMode the rounding mode to use to bring the decimal places back in line, not null
+     * @return the new converted instance, never null
+     * @throws IllegalArgumentException if the provider has no rate for the currencies
+     * @throws IllegalArgumentException if the currency is the same as this currency and the rate is not one
+     * @throws IllegalArgumentException if the rate is negative
+     * @throws ArithmeticException      if the rounding fails
+     */
+    @NonNull
+    public Money convertedTo(@NonNull CurrencyUnit currency, @NonNull ExchangeRateProvider provider, @NonNull RoundingMode roundingMode) {
+        return with(money.convertedTo(currency, provider, roundingMode));
+    }
+
     //-----------------------------------------------------------------------
 
     /**
@@ -1471,6 +1557,6 @@ public final class Money implements BigMoneyProvider, Comparable<BigMoneyProvide
      */
     @Override
     public void writeToParcel(Parcel dest, int flags) {
-        dest.writeParcelable(money, flags);
+        money.writeToParcel(dest, flags);
     }
 }
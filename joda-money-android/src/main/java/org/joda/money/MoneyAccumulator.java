@@ -0,0 +1,94 @@
+package org.joda.money;
+
+import java.math.BigDecimal;
+
+/**
+ * Accumulates a total of amounts given as unscaled longs and scales.
+ * <p>
+ * The total is held in a long at the largest scale seen so far, only falling back
+ * to {@code BigDecimal} if the total or a rescaled amount overflows.
+ * <p>
+ * This class is mutable and intended for use by a single thread.
+ */
+final class MoneyAccumulator {
+
+    /**
+     * The total while it fits in a long.
+     */
+    private long total;
+    /**
+     * The scale of the total.
+     */
+    private int totalScale;
+    /**
+     * The total once it has overflowed, null before.
+     */
+    private BigDecimal bigTotal;
+
+    /**
+     * Adds an amount.
+     *
+     * @param unscaled the unscaled amount
+     * @param scale    the scale, zero or positive
+     */
+    void add(long unscaled, int scale) {
+        if (bigTotal == null) {
+            if (scale > totalScale) {
+                long rescaled = scaleUp(total, scale - totalScale);
+                if (rescaled != Long.MIN_VALUE) {
+                    total = rescaled;
+                    totalScale = scale;
+                } else {
+                    bigTotal = BigDecimal.valueOf(total, totalScale);
+                }
+            } else if (scale < totalScale) {
+                long rescaled = scaleUp(unscaled, totalScale - scale);
+                if (rescaled != Long.MIN_VALUE) {
+                    unscaled = rescaled;
+                    scale = totalScale;
+                } else {
+                    bigTotal = BigDecimal.valueOf(total, totalScale);
+                }
+            }
+        }
+        if (bigTotal == null) {
+            long result = total + unscaled;
+            if (((total ^ result) & (unscaled ^ result)) >= 0) {
+                total = result;
+                return;
+            }
+            bigTotal = BigDecimal.valueOf(total, totalScale);
+        }
+        bigTotal = bigTotal.add(BigDecimal.valueOf(unscaled, scale));
+    }
+
+    /**
+     * Gets the total.
+     *
+     * @return the total, never null
+     */
+    BigDecimal getTotal() {
+        return (bigTotal != null ? bigTotal : BigDecimal.valueOf(total, totalScale));
+    }
+
+    /**
+     * Multiplies a value by a power of ten, returning Long.MIN_VALUE on overflow.
+     */
+    private static long scaleUp(long value, int power) {
+        if (value == 0) {
+            return 0;
+        }
+        if (power > 18) {
+            return Long.MIN_VALUE;
+        }
+        long result = value;
+        for (int i = 0; i < power; i++) {
+            if (result > Long.MAX_VALUE / 10 || result < -(Long.MAX_VALUE / 10)) {
+                return Long.MIN_VALUE;
+            }
+            result *= 10;
+        }
+        return result;
+    }
+
+}
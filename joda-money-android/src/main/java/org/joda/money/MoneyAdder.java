@@ -0,0 +1,229 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A running total of monetary values in one currency that scales across threads.
+ * <p>
+ * This is modelled on {@code java.util.concurrent.atomic.LongAdder}, which is not available
+ * on older versions of Android. The total is held in minor units, spread across a set of
+ * cells, each on its own cache line. Each thread adds to a cell chosen by a per-thread probe,
+ * moving to another cell when it meets contention, so threads adding at the same time rarely
+ * compete. An amount that would overflow a cell is carried into a {@code BigInteger}.
+ * <p>
+ * The {@link #sum()} is exact, but is not an atomic snapshot if values are added concurrently.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class MoneyAdder {
+
+    /**
+     * The number of longs between cells, so that each cell is on its own cache line.
+     */
+    private static final int PADDING = 8;
+    /**
+     * The maximum number of cells.
+     */
+    private static final int MAX_CELLS = 64;
+    /**
+     * The probe of each thread, used to choose a cell.
+     */
+    private static final ThreadLocal<int[]> PROBE = new ThreadLocal<int[]>() {
+        @Override
+        protected int[] initialValue() {
+            long id = Thread.currentThread().getId();
+            int hash = (int) (id ^ (id >>> 32)) * 0x9E3779B9;
+            return new int[] {hash != 0 ? hash : 1};
+        }
+    };
+
+    /**
+     * The currency.
+     */
+    private final CurrencyUnit currency;
+    /**
+     * The cells, in minor units, every {@code PADDING} longs.
+     */
+    private final AtomicLongArray cells;
+    /**
+     * The mask used to choose a cell from a probe.
+     */
+    private final int mask;
+    /**
+     * The amount carried out of the cells on overflow, in minor units.
+     */
+    private final AtomicReference<BigInteger> carry = new AtomicReference<>(BigInteger.ZERO);
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Constructor, with a total of zero.
+     *
+     * @param currency the currency, not null
+     */
+    public MoneyAdder(@NonNull CurrencyUnit currency) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        int cellCount = 1;
+        int target = Math.min(Runtime.getRuntime().availableProcessors() * 2, MAX_CELLS);
+        while (cellCount < target) {
+            cellCount <<= 1;
+        }
+        this.currency = currency;
+        this.cells = new AtomicLongArray(cellCount * PADDING);
+        this.mask = cellCount - 1;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the currency.
+     *
+     * @return the currency, never null
+     */
+    @NonNull
+    public CurrencyUnit getCurrencyUnit() {
+        return currency;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Adds a monetary value to the total.
+     *
+     * @param money the money to add, not null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public void add(@NonNull Money money) {
+        MoneyUtils.checkNotNull(money, "Money must not be null");
+        if (!currency.equals(money.getCurrencyUnit())) {
+            throw new CurrencyMismatchException(currency, money.getCurrencyUnit());
+        }
+        BigInteger unscaled = money.getAmount().unscaledValue();
+        if (unscaled.bitLength() <= 63) {
+            addMinor(unscaled.longValue());
+        } else {
+            addCarry(unscaled);
+        }
+    }
+
+    /**
+     * Adds an amount in minor units to the total.
+     * <p>
+     * The amount is at the scale of the currency, as per {@link Money#getAmountMinorLong()}.
+     *
+     * @param amountMinor the amount to add in minor units
+     */
+    public void addMinor(long amountMinor) {
+        int[] probe = PROBE.get();
+        while (true) {
+            int index = (probe[0] & mask) * PADDING;
+            long current = cells.get(index);
+            long result = current + amountMinor;
+            if (((current ^ result) & (amountMinor ^ result)) < 0) {
+                addCarry(BigInteger.valueOf(amountMinor));
+                return;
+            }
+            if (cells.compareAndSet(index, current, result)) {
+                return;
+            }
+            int hash = probe[0];
+            hash ^= hash << 13;
+            hash ^= hash >>> 17;
+            hash ^= hash << 5;
+            probe[0] = hash;
+        }
+    }
+
+    /**
+     * Subtracts a monetary value from the total.
+     *
+     * @param money the money to subtract, not null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public void subtract(@NonNull Money money) {
+        add(money.negated());
+    }
+
+    private void addCarry(BigInteger amount) {
+        while (true) {
+            BigInteger current = carry.get();
+            if (carry.compareAndSet(current, current.add(amount))) {
+                return;
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the total.
+     * <p>
+     * Values added concurrently with this method may or may not be included.
+     *
+     * @return the total, never null
+     */
+    @NonNull
+    public Money sum() {
+        return toMoney(carry.get(), false);
+    }
+
+    /**
+     * Gets the total and resets it to zero.
+     * <p>
+     * Values added concurrently with this method are included either in the
+     * result or in the new total, and never lost.
+     *
+     * @return the total before the reset, never null
+     */
+    @NonNull
+    public Money sumThenReset() {
+        return toMoney(carry.getAndSet(BigInteger.ZERO), true);
+    }
+
+    /**
+     * Resets the total to zero.
+     * <p>
+     * Values added concurrently with this method may or may not be discarded.
+     */
+    public void reset() {
+        sumThenReset();
+    }
+
+    private Money toMoney(BigInteger carried, boolean reset) {
+        long total = 0;
+        BigInteger bigTotal = carried;
+        for (int index = 0; index < cells.length(); index += PADDING) {
+            long cell = (reset ? cells.getAndSet(index, 0) : cells.get(index));
+            long result = total + cell;
+            if (((total ^ result) & (cell ^ result)) < 0) {
+                bigTotal = bigTotal.add(BigInteger.valueOf(total));
+                total = cell;
+            } else {
+                total = result;
+            }
+        }
+        if (bigTotal.signum() != 0) {
+            bigTotal = bigTotal.add(BigInteger.valueOf(total));
+            return new Money(new BigMoney(currency, new BigDecimal(bigTotal, currency.getDecimalPlaces())));
+        }
+        return Money.ofMinor(currency, total);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the total as a string.
+     *
+     * @return the total as per {@link Money#toString()}, never null
+     */
+    @Override
+    public String toString() {
+        return sum().toString();
+    }
+
+}
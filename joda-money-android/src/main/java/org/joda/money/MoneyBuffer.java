@@ -0,0 +1,356 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * A growable store of monetary values held outside the Java heap.
+ * <p>
+ * Each value occupies a fixed slot of {@link #SLOT_SIZE} bytes in a direct {@code ByteBuffer},
+ * using the fixed form of {@link MoneyCodec}: the currency numeric code, the scale and the
+ * unscaled amount. Large numbers of values can therefore be held without creating objects
+ * for the garbage collector to trace. Values are only converted to {@code BigMoney} or
+ * {@code Money} when requested.
+ * <p>
+ * The currency of each value must have a numeric code that identifies it in the
+ * {@code CurrencyUnit} registry, and each unscaled amount must fit in a long.
+ * <p>
+ * This class is mutable and intended for use by a single thread.
+ */
+public final class MoneyBuffer {
+
+    /**
+     * The size of each slot in bytes.
+     */
+    public static final int SLOT_SIZE = MoneyCodec.FIXED_SIZE;
+    /**
+     * The default initial capacity in slots.
+     */
+    private static final int DEFAULT_CAPACITY = 1024;
+    /**
+     * The maximum capacity in slots.
+     */
+    private static final int MAX_CAPACITY = Integer.MAX_VALUE / SLOT_SIZE;
+
+    /**
+     * The direct buffer holding the slots.
+     */
+    private ByteBuffer buffer;
+    /**
+     * The number of slots in use.
+     */
+    private int size;
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Constructor using the default initial capacity.
+     */
+    public MoneyBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param initialCapacity the initial capacity in slots, zero or greater
+     * @throws IllegalArgumentException if the capacity is invalid
+     */
+    public MoneyBuffer(int initialCapacity) {
+        if (initialCapacity < 0 || initialCapacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Invalid capacity: " + initialCapacity);
+        }
+        this.buffer = ByteBuffer.allocateDirect(initialCapacity * SLOT_SIZE);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the number of values.
+     *
+     * @return the size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets the number of values that can be held before the buffer is reallocated.
+     *
+     * @return the capacity in slots
+     */
+    public int capacity() {
+        return buffer.capacity() / SLOT_SIZE;
+    }
+
+    /**
+     * Removes all the values, retaining the capacity.
+     */
+    public void clear() {
+        size = 0;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Appends a monetary value.
+     *
+     * @param moneyProvider the money to append, not null
+     * @return the index of the new value
+     * @throws IllegalCurrencyException if the currency has no identifying numeric code
+     * @throws ArithmeticException      if the unscaled amount does not fit in a long
+     */
+    public int append(@NonNull BigMoneyProvider moneyProvider) {
+        BigMoney money = BigMoney.of(moneyProvider);
+        return append(MoneyCodec.numericCodeOf(money.getCurrencyUnit()), MoneyCodec.unscaledOf(money.getAmount()), money.getScale());
+    }
+
+    /**
+     * Appends a monetary value from its fields.
+     *
+     * @param currency       the currency, not null
+     * @param unscaledAmount the unscaled amount
+     * @param scale          the scale, zero or positive
+     * @return the index of the new value
+     * @throws IllegalCurrencyException if the currency has no identifying numeric code
+     */
+    public int append(@NonNull CurrencyUnit currency, long unscaledAmount, int scale) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        checkScale(scale);
+        return append(MoneyCodec.numericCodeOf(currency), unscaledAmount, scale);
+    }
+
+    private int append(int numericCode, long unscaledAmount, int scale) {
+        if (size == capacity()) {
+            grow();
+        }
+        MoneyCodec.putFixed(buffer, size * SLOT_SIZE, numericCode, scale, unscaledAmount);
+        return size++;
+    }
+
+    /**
+     * Replaces the value at an index.
+     *
+     * @param index         the index of the value
+     * @param moneyProvider the new money, not null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws IllegalCurrencyException  if the currency has no identifying numeric code
+     * @throws ArithmeticException       if the unscaled amount does not fit in a long
+     */
+    public void set(int index, @NonNull BigMoneyProvider moneyProvider) {
+        int offset = offset(index);
+        BigMoney money = BigMoney.of(moneyProvider);
+        MoneyCodec.putFixed(buffer, offset, MoneyCodec.numericCodeOf(money.getCurrencyUnit()),
+                money.getScale(), MoneyCodec.unscaledOf(money.getAmount()));
+    }
+
+    /**
+     * Replaces the value at an index from its fields.
+     *
+     * @param index          the index of the value
+     * @param currency       the currency, not null
+     * @param unscaledAmount the unscaled amount
+     * @param scale          the scale, zero or positive
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws IllegalCurrencyException  if the currency has no identifying numeric code
+     */
+    public void set(int index, @NonNull CurrencyUnit currency, long unscaledAmount, int scale) {
+        int offset = offset(index);
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        checkScale(scale);
+        MoneyCodec.putFixed(buffer, offset, MoneyCodec.numericCodeOf(currency), scale, unscaledAmount);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the currency numeric code of a value.
+     *
+     * @param index the index of the value
+     * @return the numeric code
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public int getNumericCode(int index) {
+        return buffer.getInt(offset(index));
+    }
+
+    /**
+     * Gets the scale of a value.
+     *
+     * @param index the index of the value
+     * @return the scale
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public int getScale(int index) {
+        return buffer.getInt(offset(index) + 4);
+    }
+
+    /**
+     * Gets the unscaled amount of a value.
+     *
+     * @param index the index of the value
+     * @return the unscaled amount
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public long getUnscaledAmount(int index) {
+        return buffer.getLong(offset(index) + 8);
+    }
+
+    /**
+     * Gets the currency of a value.
+     *
+     * @param index the index of the value
+     * @return the currency, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    @NonNull
+    public CurrencyUnit getCurrencyUnit(int index) {
+        return CurrencyUnit.ofNumericCode(getNumericCode(index));
+    }
+
+    /**
+     * Gets a value as a {@code BigMoney}.
+     *
+     * @param index the index of the value
+     * @return the monetary value, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    @NonNull
+    public BigMoney getBigMoney(int index) {
+        return MoneyCodec.getFixed(buffer, offset(index));
+    }
+
+    /**
+     * Gets a value as a {@code Money}.
+     *
+     * @param index the index of the value
+     * @return the monetary value, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws ArithmeticException       if the scale exceeds the currency scale
+     */
+    @NonNull
+    public Money getMoney(int index) {
+        return getBigMoney(index).toMoney();
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Sums the values in the specified currency, ignoring values in other currencies.
+     *
+     * @param currency the currency to sum, not null
+     * @return the total, zero if there are no values in the currency, never null
+     * @throws IllegalCurrencyException if the currency has no identifying numeric code
+     */
+    @NonNull
+    public BigMoney sum(@NonNull CurrencyUnit currency) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        int numericCode = MoneyCodec.numericCodeOf(currency);
+        MoneyAccumulator total = new MoneyAccumulator();
+        int end = size * SLOT_SIZE;
+        for (int offset = 0; offset < end; offset += SLOT_SIZE) {
+            if (buffer.getInt(offset) == numericCode) {
+                total.add(buffer.getLong(offset + 8), buffer.getInt(offset + 4));
+            }
+        }
+        return new BigMoney(currency, total.getTotal());
+    }
+
+    /**
+     * Counts the values in the specified currency.
+     *
+     * @param currency the currency to count, not null
+     * @return the number of values in the currency
+     * @throws IllegalCurrencyException if the currency has no identifying numeric code
+     */
+    public int count(@NonNull CurrencyUnit currency) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        int numericCode = MoneyCodec.numericCodeOf(currency);
+        int count = 0;
+        int end = size * SLOT_SIZE;
+        for (int offset = 0; offset < end; offset += SLOT_SIZE) {
+            if (buffer.getInt(offset) == numericCode) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets a read-only view of the slots in use.
+     * <p>
+     * The view shares the memory of this buffer, and is invalidated if this buffer grows.
+     *
+     * @return the read-only view, positioned at zero, never null
+     */
+    @NonNull
+    public ByteBuffer asReadOnlyByteBuffer() {
+        ByteBuffer view = buffer.asReadOnlyBuffer();
+        view.limit(size * SLOT_SIZE).position(0);
+        return view;
+    }
+
+    /**
+     * Writes the slots in use to a channel, directly from the off-heap memory.
+     * <p>
+     * The channel is written at its current position and is not closed.
+     *
+     * @param channel the channel to write to, not null
+     * @return the number of bytes written
+     * @throws IOException if an IO error occurs
+     */
+    public long writeTo(@NonNull FileChannel channel) throws IOException {
+        MoneyUtils.checkNotNull(channel, "FileChannel must not be null");
+        ByteBuffer view = asReadOnlyByteBuffer();
+        long written = 0;
+        while (view.hasRemaining()) {
+            written += channel.write(view);
+        }
+        return written;
+    }
+
+    //-----------------------------------------------------------------------
+
+    private int offset(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+        return index * SLOT_SIZE;
+    }
+
+    private static void checkScale(int scale) {
+        if (scale < 0) {
+            throw new IllegalArgumentException("Scale must be zero or positive");
+        }
+    }
+
+    private void grow() {
+        int capacity = capacity();
+        if (capacity == MAX_CAPACITY) {
+            throw new IllegalStateException("MoneyBuffer is full");
+        }
+        int newCapacity = (int) Math.min((long) Math.max(capacity, 8) * 2, MAX_CAPACITY);
+        ByteBuffer newBuffer = ByteBuffer.allocateDirect(newCapacity * SLOT_SIZE);
+        ByteBuffer old = buffer.duplicate();
+        old.limit(size * SLOT_SIZE).position(0);
+        newBuffer.put(old);
+        newBuffer.clear();
+        buffer = newBuffer;
+    }
+
+    /**
+     * Gets a string summary of the buffer.
+     *
+     * @return a string summarising the buffer, never null
+     */
+    @Override
+    public String toString() {
+        return "MoneyBuffer[" + size + " values]";
+    }
+
+}
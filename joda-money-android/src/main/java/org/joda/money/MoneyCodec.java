@@ -0,0 +1,446 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferOverflowException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes monetary values to and from bytes, for storage and messaging.
+ * <p>
+ * Two forms are provided.
+ * The fixed form is always {@link #FIXED_SIZE} bytes: the currency numeric code as an int,
+ * the scale as an int and the unscaled amount as a long. It requires that the currency
+ * has a numeric code that identifies it and that the unscaled amount fits in a long.
+ * <p>
+ * The variable form has no such restrictions and is usually much smaller.
+ * It is a varint of the currency numeric code plus one, or zero followed by the three
+ * ASCII characters of the code if the numeric code does not identify the currency.
+ * This is followed by a varint of the scale shifted left by one, with the low bit set if
+ * the unscaled amount does not fit in a long, and then either the unscaled amount as
+ * a zig-zag varint or a varint length and the bytes of the {@code BigInteger}.
+ * <p>
+ * The fixed form is written in the byte order of the buffer, which is big-endian by default.
+ * The currency must be registered when decoding.
+ * <p>
+ * This utility class contains thread-safe static methods.
+ */
+public final class MoneyCodec {
+
+    /**
+     * The size of the fixed form in bytes.
+     */
+    public static final int FIXED_SIZE = 16;
+
+    /**
+     * Private constructor.
+     */
+    private MoneyCodec() {
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Encodes a monetary value in the fixed form.
+     *
+     * @param moneyProvider the money to encode, not null
+     * @return the {@link #FIXED_SIZE} encoded bytes, never null
+     * @throws IllegalCurrencyException if the currency has no identifying numeric code
+     * @throws ArithmeticException      if the unscaled amount does not fit in a long
+     */
+    @NonNull
+    public static byte[] encode(@NonNull BigMoneyProvider moneyProvider) {
+        byte[] bytes = new byte[FIXED_SIZE];
+        encode(moneyProvider, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Encodes a monetary value in the fixed form at the position of the buffer.
+     *
+     * @param moneyProvider the money to encode, not null
+     * @param buffer        the buffer to write to, advanced by {@link #FIXED_SIZE}, not null
+     * @throws IllegalCurrencyException if the currency has no identifying numeric code
+     * @throws ArithmeticException      if the unscaled amount does not fit in a long
+     * @throws BufferOverflowException  if the buffer has insufficient space
+     */
+    public static void encode(@NonNull BigMoneyProvider moneyProvider, @NonNull ByteBuffer buffer) {
+        MoneyUtils.checkNotNull(buffer, "ByteBuffer must not be null");
+        BigMoney money = BigMoney.of(moneyProvider);
+        int numericCode = numericCodeOf(money.getCurrencyUnit());
+        long unscaled = unscaledOf(money.getAmount());
+        int pos = buffer.position();
+        if (buffer.remaining() < FIXED_SIZE) {
+            throw new BufferOverflowException();
+        }
+        putFixed(buffer, pos, numericCode, money.getScale(), unscaled);
+        buffer.position(pos + FIXED_SIZE);
+    }
+
+    /**
+     * Decodes a {@code BigMoney} in the fixed form.
+     *
+     * @param bytes the bytes to decode, not null
+     * @return the monetary value, never null
+     * @throws IllegalCurrencyException if the currency is unknown
+     * @throws BufferUnderflowException if there are insufficient bytes
+     */
+    @NonNull
+    public static BigMoney decodeBigMoney(@NonNull byte[] bytes) {
+        MoneyUtils.checkNotNull(bytes, "Bytes must not be null");
+        return decodeBigMoney(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Decodes a {@code BigMoney} in the fixed form from the position of the buffer.
+     *
+     * @param buffer the buffer to read from, advanced by {@link #FIXED_SIZE}, not null
+     * @return the monetary value, never null
+     * @throws IllegalCurrencyException if the currency is unknown
+     * @throws BufferUnderflowException if there are insufficient bytes
+     */
+    @NonNull
+    public static BigMoney decodeBigMoney(@NonNull ByteBuffer buffer) {
+        MoneyUtils.checkNotNull(buffer, "ByteBuffer must not be null");
+        if (buffer.remaining() < FIXED_SIZE) {
+            throw new BufferUnderflowException();
+        }
+        int pos = buffer.position();
+        BigMoney money = getFixed(buffer, pos);
+        buffer.position(pos + FIXED_SIZE);
+        return money;
+    }
+
+    /**
+     * Decodes a {@code Money} in the fixed form from the position of the buffer.
+     *
+     * @param buffer the buffer to read from, advanced by {@link #FIXED_SIZE}, not null
+     * @return the monetary value, never null
+     * @throws IllegalCurrencyException if the currency is unknown
+     * @throws BufferUnderflowException if there are insufficient bytes
+     * @throws ArithmeticException      if the scale exceeds the currency scale
+     */
+    @NonNull
+    public static Money decodeMoney(@NonNull ByteBuffer buffer) {
+        return decodeBigMoney(buffer).toMoney();
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Encodes monetary values in the fixed form.
+     *
+     * @param moneyProviders the money to encode, no null elements, not null
+     * @return the encoded bytes, {@link #FIXED_SIZE} per value, never null
+     * @throws IllegalCurrencyException if a currency has no identifying numeric code
+     * @throws ArithmeticException      if an unscaled amount does not fit in a long
+     */
+    @NonNull
+    public static byte[] encodeAll(@NonNull BigMoneyProvider[] moneyProviders) {
+        MoneyUtils.checkNotNull(moneyProviders, "Money array must not be null");
+        byte[] bytes = new byte[moneyProviders.length * FIXED_SIZE];
+        encodeAll(moneyProviders, ByteBuffer.wrap(bytes));
+        return bytes;
+    }
+
+    /**
+     * Encodes monetary values in the fixed form at the position of the buffer.
+     *
+     * @param moneyProviders the money to encode, no null elements, not null
+     * @param buffer         the buffer to write to, advanced by {@link #FIXED_SIZE} per value, not null
+     * @throws IllegalCurrencyException if a currency has no identifying numeric code
+     * @throws ArithmeticException      if an unscaled amount does not fit in a long
+     * @throws BufferOverflowException  if the buffer has insufficient space
+     */
+    public static void encodeAll(@NonNull BigMoneyProvider[] moneyProviders, @NonNull ByteBuffer buffer) {
+        MoneyUtils.checkNotNull(moneyProviders, "Money array must not be null");
+        MoneyUtils.checkNotNull(buffer, "ByteBuffer must not be null");
+        if (buffer.remaining() / FIXED_SIZE < moneyProviders.length) {
+            throw new BufferOverflowException();
+        }
+        int pos = buffer.position();
+        CurrencyUnit lastCurrency = null;
+        int lastNumericCode = 0;
+        for (BigMoneyProvider moneyProvider : moneyProviders) {
+            BigMoney money = BigMoney.of(moneyProvider);
+            CurrencyUnit currency = money.getCurrencyUnit();
+            if (currency != lastCurrency) {
+                lastNumericCode = numericCodeOf(currency);
+                lastCurrency = currency;
+            }
+            putFixed(buffer, pos, lastNumericCode, money.getScale(), unscaledOf(money.getAmount()));
+            pos += FIXED_SIZE;
+        }
+        buffer.position(pos);
+    }
+
+    /**
+     * Decodes all the {@code BigMoney} values in the fixed form.
+     *
+     * @param bytes the bytes to decode, a multiple of {@link #FIXED_SIZE} in length, not null
+     * @return the monetary values, never null
+     * @throws IllegalCurrencyException if a currency is unknown
+     * @throws IllegalArgumentException if the length is not a multiple of the fixed size
+     */
+    @NonNull
+    public static BigMoney[] decodeAll(@NonNull byte[] bytes) {
+        MoneyUtils.checkNotNull(bytes, "Bytes must not be null");
+        if (bytes.length % FIXED_SIZE != 0) {
+            throw new IllegalArgumentException("Encoded length must be a multiple of " + FIXED_SIZE);
+        }
+        return decodeAll(ByteBuffer.wrap(bytes), bytes.length / FIXED_SIZE);
+    }
+
+    /**
+     * Decodes {@code BigMoney} values in the fixed form from the position of the buffer.
+     *
+     * @param buffer the buffer to read from, advanced by {@link #FIXED_SIZE} per value, not null
+     * @param count  the number of values to decode, zero or greater
+     * @return the monetary values, never null
+     * @throws IllegalCurrencyException if a currency is unknown
+     * @throws BufferUnderflowException if there are insufficient bytes
+     */
+    @NonNull
+    public static BigMoney[] decodeAll(@NonNull ByteBuffer buffer, int count) {
+        MoneyUtils.checkNotNull(buffer, "ByteBuffer must not be null");
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative");
+        }
+        if (buffer.remaining() / FIXED_SIZE < count) {
+            throw new BufferUnderflowException();
+        }
+        BigMoney[] result = new BigMoney[count];
+        int pos = buffer.position();
+        for (int i = 0; i < count; i++) {
+            result[i] = getFixed(buffer, pos);
+            pos += FIXED_SIZE;
+        }
+        buffer.position(pos);
+        return result;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Encodes a monetary value in the variable form.
+     *
+     * @param moneyProvider the money to encode, not null
+     * @return the encoded bytes, never null
+     */
+    @NonNull
+    public static byte[] encodeVar(@NonNull BigMoneyProvider moneyProvider) {
+        BigMoney money = BigMoney.of(moneyProvider);
+        BigInteger unscaled = money.getAmount().unscaledValue();
+        ByteBuffer buffer = ByteBuffer.allocate(8 + 10 + 10 + (unscaled.bitLength() / 8) + 1);
+        encodeVar(money, buffer);
+        byte[] bytes = new byte[buffer.position()];
+        System.arraycopy(buffer.array(), 0, bytes, 0, bytes.length);
+        return bytes;
+    }
+
+    /**
+     * Encodes a monetary value in the variable form at the position of the buffer.
+     *
+     * @param moneyProvider the money to encode, not null
+     * @param buffer        the buffer to write to, advanced by the encoded size, not null
+     * @throws BufferOverflowException  if the buffer has insufficient space
+     */
+    public static void encodeVar(@NonNull BigMoneyProvider moneyProvider, @NonNull ByteBuffer buffer) {
+        MoneyUtils.checkNotNull(buffer, "ByteBuffer must not be null");
+        BigMoney money = BigMoney.of(moneyProvider);
+        encodeCurrency(money.getCurrencyUnit(), buffer);
+        BigDecimal amount = money.getAmount();
+        BigInteger unscaled = amount.unscaledValue();
+        long scale = amount.scale();
+        if (unscaled.bitLength() <= 63) {
+            putVarLong(buffer, scale << 1);
+            putVarLong(buffer, VarLongs.zigZag(unscaled.longValue()));
+        } else {
+            putVarLong(buffer, (scale << 1) | 1);
+            byte[] bytes = unscaled.toByteArray();
+            putVarLong(buffer, bytes.length);
+            buffer.put(bytes);
+        }
+    }
+
+    /**
+     * Decodes a {@code BigMoney} in the variable form.
+     *
+     * @param bytes the bytes to decode, not null
+     * @return the monetary value, never null
+     * @throws IllegalCurrencyException if the currency is unknown
+     * @throws IllegalArgumentException if the bytes are invalid
+     * @throws BufferUnderflowException if there are insufficient bytes
+     */
+    @NonNull
+    public static BigMoney decodeVarBigMoney(@NonNull byte[] bytes) {
+        MoneyUtils.checkNotNull(bytes, "Bytes must not be null");
+        return decodeVarBigMoney(ByteBuffer.wrap(bytes));
+    }
+
+    /**
+     * Decodes a {@code BigMoney} in the variable form from the position of the buffer.
+     *
+     * @param buffer the buffer to read from, advanced by the encoded size, not null
+     * @return the monetary value, never null
+     * @throws IllegalCurrencyException if the currency is unknown
+     * @throws IllegalArgumentException if the bytes are invalid
+     * @throws BufferUnderflowException if there are insufficient bytes
+     */
+    @NonNull
+    public static BigMoney decodeVarBigMoney(@NonNull ByteBuffer buffer) {
+        CurrencyUnit currency = decodeCurrency(buffer);
+        long header = getVarLong(buffer);
+        long scale = header >>> 1;
+        if (scale > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Encoded scale is invalid");
+        }
+        BigDecimal amount;
+        if ((header & 1) == 0) {
+            amount = BigDecimal.valueOf(VarLongs.unZigZag(getVarLong(buffer)), (int) scale);
+        } else {
+            long length = getVarLong(buffer);
+            if (length <= 0 || length > buffer.remaining()) {
+                throw new IllegalArgumentException("Encoded amount length is invalid");
+            }
+            byte[] bytes = new byte[(int) length];
+            buffer.get(bytes);
+            amount = new BigDecimal(new BigInteger(bytes), (int) scale);
+        }
+        return new BigMoney(currency, amount);
+    }
+
+    /**
+     * Decodes a {@code Money} in the variable form from the position of the buffer.
+     *
+     * @param buffer the buffer to read from, advanced by the encoded size, not null
+     * @return the monetary value, never null
+     * @throws IllegalCurrencyException if the currency is unknown
+     * @throws IllegalArgumentException if the bytes are invalid
+     * @throws BufferUnderflowException if there are insufficient bytes
+     * @throws ArithmeticException      if the scale exceeds the currency scale
+     */
+    @NonNull
+    public static Money decodeVarMoney(@NonNull ByteBuffer buffer) {
+        return decodeVarBigMoney(buffer).toMoney();
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Encodes a currency in the variable form at the position of the buffer.
+     *
+     * @param currency the currency to encode, not null
+     * @param buffer   the buffer to write to, advanced by the encoded size, not null
+     * @throws BufferOverflowException  if the buffer has insufficient space
+     */
+    public static void encodeCurrency(@NonNull CurrencyUnit currency, @NonNull ByteBuffer buffer) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(buffer, "ByteBuffer must not be null");
+        int numericCode = currency.getNumericCode();
+        if (numericCode >= 0 && CurrencyUnit.numericCodeIdentifies(currency)) {
+            putVarLong(buffer, numericCode + 1);
+        } else {
+            String code = currency.getCode();
+            buffer.put((byte) 0);
+            buffer.put((byte) code.charAt(0));
+            buffer.put((byte) code.charAt(1));
+            buffer.put((byte) code.charAt(2));
+        }
+    }
+
+    /**
+     * Decodes a currency in the variable form from the position of the buffer.
+     *
+     * @param buffer the buffer to read from, advanced by the encoded size, not null
+     * @return the singleton currency, never null
+     * @throws IllegalCurrencyException if the currency is unknown
+     * @throws IllegalArgumentException if the bytes are invalid
+     * @throws BufferUnderflowException if there are insufficient bytes
+     */
+    @NonNull
+    public static CurrencyUnit decodeCurrency(@NonNull ByteBuffer buffer) {
+        MoneyUtils.checkNotNull(buffer, "ByteBuffer must not be null");
+        long numericCode = getVarLong(buffer) - 1;
+        if (numericCode < 0) {
+            char[] code = {(char) buffer.get(), (char) buffer.get(), (char) buffer.get()};
+            return CurrencyUnit.of(new String(code));
+        }
+        if (numericCode > 999) {
+            throw new IllegalArgumentException("Encoded numeric code is invalid");
+        }
+        return CurrencyUnit.ofNumericCode((int) numericCode);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the numeric code that identifies a currency in the fixed form.
+     *
+     * @param currency the currency, not null
+     * @return the numeric code
+     * @throws IllegalCurrencyException if the currency has no identifying numeric code
+     */
+    static int numericCodeOf(CurrencyUnit currency) {
+        int numericCode = currency.getNumericCode();
+        if (numericCode < 0 || !CurrencyUnit.numericCodeIdentifies(currency)) {
+            throw new IllegalCurrencyException("Currency '" + currency.getCode() + "' has no identifying numeric code");
+        }
+        return numericCode;
+    }
+
+    /**
+     * Gets the unscaled amount as a long.
+     *
+     * @param amount the amount, not null
+     * @return the unscaled amount
+     * @throws ArithmeticException if the unscaled amount does not fit in a long
+     */
+    static long unscaledOf(BigDecimal amount) {
+        BigInteger unscaled = amount.unscaledValue();
+        if (unscaled.bitLength() > 63) {
+            throw new ArithmeticException("Unscaled amount does not fit in a long: " + amount);
+        }
+        return unscaled.longValue();
+    }
+
+    /**
+     * Writes the fixed form at an absolute index.
+     *
+     * @param buffer      the buffer, not null
+     * @param index       the index to write at
+     * @param numericCode the currency numeric code
+     * @param scale       the scale
+     * @param unscaled    the unscaled amount
+     */
+    static void putFixed(ByteBuffer buffer, int index, int numericCode, int scale, long unscaled) {
+        buffer.putInt(index, numericCode);
+        buffer.putInt(index + 4, scale);
+        buffer.putLong(index + 8, unscaled);
+    }
+
+    /**
+     * Reads the fixed form at an absolute index.
+     *
+     * @param buffer the buffer, not null
+     * @param index  the index to read at
+     * @return the monetary value, never null
+     * @throws IllegalCurrencyException if the currency is unknown
+     */
+    static BigMoney getFixed(ByteBuffer buffer, int index) {
+        CurrencyUnit currency = CurrencyUnit.ofNumericCode(buffer.getInt(index));
+        return new BigMoney(currency, BigDecimal.valueOf(buffer.getLong(index + 8), buffer.getInt(index + 4)));
+    }
+
+    private static void putVarLong(final ByteBuffer buffer, long value) {
+        VarLongs.<RuntimeException>writeVarLong(b -> buffer.put((byte) b), value);
+    }
+
+    private static long getVarLong(ByteBuffer buffer) {
+        return VarLongs.<RuntimeException>readVarLong(buffer::get);
+    }
+
+}
@@ -0,0 +1,364 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts monetary values in one currency into buckets by amount.
+ * <p>
+ * The buckets are defined by a sorted set of boundaries in minor units. Bucket zero holds
+ * the amounts below the first boundary, bucket {@code i} holds the amounts from boundary
+ * {@code i - 1} inclusive to boundary {@code i} exclusive, and the last bucket holds the
+ * amounts from the last boundary upwards. There is therefore one more bucket than there
+ * are boundaries. The bucket of a value is found by a binary search of the boundaries
+ * as longs, without comparing {@code BigDecimal} amounts.
+ * <p>
+ * Values may be recorded concurrently without locking. Reading the counts while values are
+ * being recorded gives a snapshot of each bucket, but not of all buckets at the same instant.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class MoneyHistogram {
+
+    /**
+     * The currency.
+     */
+    private final CurrencyUnit currency;
+    /**
+     * The boundaries in minor units, sorted and distinct.
+     */
+    private final long[] boundaries;
+    /**
+     * The count of each bucket.
+     */
+    private final AtomicLongArray counts;
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Obtains an instance with boundaries specified in minor units.
+     *
+     * @param currency        the currency, not null
+     * @param boundariesMinor the boundaries in minor units, strictly ascending, not null
+     * @return the new histogram, never null
+     * @throws IllegalArgumentException if the boundaries are not strictly ascending
+     */
+    @NonNull
+    public static MoneyHistogram ofMinor(@NonNull CurrencyUnit currency, @NonNull long... boundariesMinor) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(boundariesMinor, "Boundaries must not be null");
+        return new MoneyHistogram(currency, boundariesMinor.clone());
+    }
+
+    /**
+     * Obtains an instance with boundaries specified as monetary values.
+     *
+     * @param currency   the currency, not null
+     * @param boundaries the boundaries, strictly ascending, not null, no null elements
+     * @return the new histogram, never null
+     * @throws CurrencyMismatchException if the currency of a boundary differs
+     * @throws IllegalArgumentException  if the boundaries are not strictly ascending
+     * @throws ArithmeticException       if a boundary does not fit in a long of minor units
+     */
+    @NonNull
+    public static MoneyHistogram of(@NonNull CurrencyUnit currency, @NonNull Money... boundaries) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(boundaries, "Boundaries must not be null");
+        long[] boundariesMinor = new long[boundaries.length];
+        for (int i = 0; i < boundaries.length; i++) {
+            MoneyUtils.checkNotNull(boundaries[i], "Boundary must not be null");
+            if (!currency.equals(boundaries[i].getCurrencyUnit())) {
+                throw new CurrencyMismatchException(currency, boundaries[i].getCurrencyUnit());
+            }
+            boundariesMinor[i] = boundaries[i].getAmountMinorLong();
+        }
+        return new MoneyHistogram(currency, boundariesMinor);
+    }
+
+    /**
+     * Obtains an instance with boundaries that grow by a constant factor.
+     * <p>
+     * The first boundary is the specified amount, and each later boundary is the previous
+     * one multiplied by the factor, rounded to minor units. For example, a first boundary of
+     * 'USD 1.00', a factor of 10 and a count of 4 gives boundaries of 1, 10, 100 and 1000 dollars.
+     *
+     * @param firstBoundary the first boundary, greater than zero, not null
+     * @param factor        the factor between boundaries, greater than one
+     * @param boundaryCount the number of boundaries, greater than zero
+     * @return the new histogram, never null
+     * @throws IllegalArgumentException if an argument is invalid, or the boundaries exceed a long
+     */
+    @NonNull
+    public static MoneyHistogram ofLogScale(@NonNull Money firstBoundary, double factor, int boundaryCount) {
+        MoneyUtils.checkNotNull(firstBoundary, "Money must not be null");
+        if (!firstBoundary.isPositive()) {
+            throw new IllegalArgumentException("First boundary must be greater than zero");
+        }
+        if (!(factor > 1) || Double.isInfinite(factor)) {
+            throw new IllegalArgumentException("Factor must be greater than one");
+        }
+        if (boundaryCount <= 0) {
+            throw new IllegalArgumentException("Boundary count must be greater than zero");
+        }
+        long first = firstBoundary.getAmountMinorLong();
+        long[] boundariesMinor = new long[boundaryCount];
+        for (int i = 0; i < boundaryCount; i++) {
+            double value = first * Math.pow(factor, i);
+            if (value >= 0x1p63) {
+                throw new IllegalArgumentException("Boundaries exceed the range of a long");
+            }
+            boundariesMinor[i] = Math.max(Math.round(value), i == 0 ? first : boundariesMinor[i - 1] + 1);
+        }
+        return new MoneyHistogram(firstBoundary.getCurrencyUnit(), boundariesMinor);
+    }
+
+    /**
+     * Constructor, which does not copy the array.
+     *
+     * @param currency        the currency, not null
+     * @param boundariesMinor the boundaries, not null
+     */
+    private MoneyHistogram(CurrencyUnit currency, long[] boundariesMinor) {
+        for (int i = 1; i < boundariesMinor.length; i++) {
+            if (boundariesMinor[i] <= boundariesMinor[i - 1]) {
+                throw new IllegalArgumentException("Boundaries must be strictly ascending");
+            }
+        }
+        this.currency = currency;
+        this.boundaries = boundariesMinor;
+        this.counts = new AtomicLongArray(boundariesMinor.length + 1);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the currency.
+     *
+     * @return the currency, never null
+     */
+    @NonNull
+    public CurrencyUnit getCurrencyUnit() {
+        return currency;
+    }
+
+    /**
+     * Gets the number of buckets, which is one more than the number of boundaries.
+     *
+     * @return the number of buckets
+     */
+    public int getBucketCount() {
+        return counts.length();
+    }
+
+    /**
+     * Gets the inclusive lower bound of a bucket.
+     *
+     * @param bucket the bucket index
+     * @return the lower bound, null for the first bucket
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    @Nullable
+    public Money getLowerBound(int bucket) {
+        checkBucket(bucket);
+        return (bucket == 0 ? null : Money.ofMinor(currency, boundaries[bucket - 1]));
+    }
+
+    /**
+     * Gets the exclusive upper bound of a bucket.
+     *
+     * @param bucket the bucket index
+     * @return the upper bound, null for the last bucket
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    @Nullable
+    public Money getUpperBound(int bucket) {
+        checkBucket(bucket);
+        return (bucket == boundaries.length ? null : Money.ofMinor(currency, boundaries[bucket]));
+    }
+
+    /**
+     * Finds the bucket that an amount in minor units falls into.
+     *
+     * @param amountMinor the amount in minor units
+     * @return the bucket index
+     */
+    public int bucketOf(long amountMinor) {
+        int index = Arrays.binarySearch(boundaries, amountMinor);
+        return (index >= 0 ? index + 1 : -index - 1);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Records a monetary value.
+     *
+     * @param money the money to record, not null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public void record(@NonNull Money money) {
+        MoneyUtils.checkNotNull(money, "Money must not be null");
+        if (!currency.equals(money.getCurrencyUnit())) {
+            throw new CurrencyMismatchException(currency, money.getCurrencyUnit());
+        }
+        BigInteger unscaled = money.getAmount().unscaledValue();
+        if (unscaled.bitLength() <= 63) {
+            counts.incrementAndGet(bucketOf(unscaled.longValue()));
+        } else {
+            counts.incrementAndGet(unscaled.signum() < 0 ? 0 : boundaries.length);
+        }
+    }
+
+    /**
+     * Records an amount in minor units.
+     * <p>
+     * The amount is at the scale of the currency, as per {@link Money#getAmountMinorLong()}.
+     *
+     * @param amountMinor the amount to record in minor units
+     */
+    public void recordMinor(long amountMinor) {
+        counts.incrementAndGet(bucketOf(amountMinor));
+    }
+
+    /**
+     * Records an array of amounts in minor units.
+     *
+     * @param amountsMinor the amounts to record in minor units, not null
+     */
+    public void recordMinor(@NonNull long[] amountsMinor) {
+        MoneyUtils.checkNotNull(amountsMinor, "Amounts must not be null");
+        long[] local = new long[counts.length()];
+        for (long amount : amountsMinor) {
+            local[bucketOf(amount)]++;
+        }
+        addCounts(local);
+    }
+
+    /**
+     * Adds the counts of another histogram with the same currency and boundaries to this one.
+     *
+     * @param other the histogram to merge, not null
+     * @throws CurrencyMismatchException if the currencies differ
+     * @throws IllegalArgumentException  if the boundaries differ
+     */
+    public void merge(@NonNull MoneyHistogram other) {
+        MoneyUtils.checkNotNull(other, "MoneyHistogram must not be null");
+        if (!currency.equals(other.currency)) {
+            throw new CurrencyMismatchException(currency, other.currency);
+        }
+        if (!Arrays.equals(boundaries, other.boundaries)) {
+            throw new IllegalArgumentException("Histograms have different boundaries");
+        }
+        addCounts(other.getCounts());
+    }
+
+    private void addCounts(long[] local) {
+        for (int i = 0; i < local.length; i++) {
+            if (local[i] != 0) {
+                counts.addAndGet(i, local[i]);
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the count of a bucket.
+     *
+     * @param bucket the bucket index
+     * @return the count
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public long getCount(int bucket) {
+        checkBucket(bucket);
+        return counts.get(bucket);
+    }
+
+    /**
+     * Gets the total count of all buckets.
+     *
+     * @return the total count
+     */
+    public long getTotalCount() {
+        long total = 0;
+        for (int i = 0; i < counts.length(); i++) {
+            total += counts.get(i);
+        }
+        return total;
+    }
+
+    /**
+     * Gets a copy of the counts of all the buckets.
+     *
+     * @return the counts, indexed by bucket, never null
+     */
+    @NonNull
+    public long[] getCounts() {
+        long[] result = new long[counts.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = counts.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Gets a copy of the counts of all the buckets, resetting each to zero.
+     * <p>
+     * Values recorded concurrently are included either in the result or in the new counts, and never lost.
+     *
+     * @return the counts, indexed by bucket, never null
+     */
+    @NonNull
+    public long[] getCountsAndReset() {
+        long[] result = new long[counts.length()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = counts.getAndSet(i, 0);
+        }
+        return result;
+    }
+
+    /**
+     * Gets a copy of the boundaries in minor units.
+     *
+     * @return the boundaries, never null
+     */
+    @NonNull
+    public long[] getBoundariesMinor() {
+        return boundaries.clone();
+    }
+
+    private void checkBucket(int bucket) {
+        if (bucket < 0 || bucket >= counts.length()) {
+            throw new IndexOutOfBoundsException("Invalid bucket: " + bucket);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets a string summary of the histogram.
+     *
+     * @return a string summarising the histogram, never null
+     */
+    @Override
+    public String toString() {
+        StringBuilder buf = new StringBuilder("MoneyHistogram[").append(currency);
+        long[] snapshot = getCounts();
+        for (int i = 0; i < snapshot.length; i++) {
+            buf.append(i == 0 ? ": " : ", ");
+            if (i < boundaries.length) {
+                buf.append('<').append(Money.ofMinor(currency, boundaries[i]).getAmount().toPlainString());
+            } else if (i > 0) {
+                buf.append(">=").append(Money.ofMinor(currency, boundaries[i - 1]).getAmount().toPlainString());
+            } else {
+                buf.append("all");
+            }
+            buf.append('=').append(snapshot[i]);
+        }
+        return buf.append(']').toString();
+    }
+
+}
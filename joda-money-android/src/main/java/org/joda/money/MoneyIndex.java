@@ -0,0 +1,429 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * An immutable index of monetary values in one currency, sorted by amount.
+ * <p>
+ * Each value is stored as a {@code long} of minor units, paired with an {@code int} id
+ * chosen by the caller, such as the position of the item in a list. The amounts and ids
+ * are held in two parallel primitive arrays sorted by amount, so queries are answered by
+ * binary search without creating a {@code Money} for each value. Items with equal amounts
+ * remain in the order they were supplied.
+ * <p>
+ * Queries return ids, or positions in the sorted order. Positions run from zero, the item
+ * with the smallest amount, to {@code size() - 1}, the item with the largest.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class MoneyIndex {
+
+    /**
+     * The currency.
+     */
+    private final CurrencyUnit currency;
+    /**
+     * The amounts in minor units, sorted.
+     */
+    private final long[] amounts;
+    /**
+     * The ids, parallel to the amounts.
+     */
+    private final int[] ids;
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Obtains an index of amounts in minor units with their ids.
+     * <p>
+     * Each amount is at the scale of the currency, as per {@link Money#getAmountMinorLong()}.
+     * The arrays are copied.
+     *
+     * @param currency     the currency, not null
+     * @param amountsMinor the amounts in minor units, not null
+     * @param ids          the id of each amount, same length as the amounts, not null
+     * @return the index, never null
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    @NonNull
+    public static MoneyIndex ofMinor(@NonNull CurrencyUnit currency, @NonNull long[] amountsMinor, @NonNull int[] ids) {
+        MoneyIndex index = create(currency, amountsMinor, ids);
+        PrimitiveSorts.sort(index.amounts, index.ids);
+        return index;
+    }
+
+    /**
+     * Obtains an index of amounts in minor units with their ids, sorting in a fork-join pool.
+     * <p>
+     * The result is identical to {@link #ofMinor(CurrencyUnit, long[], int[])}, but large
+     * arrays are sorted by the threads of the pool.
+     *
+     * @param currency     the currency, not null
+     * @param amountsMinor the amounts in minor units, not null
+     * @param ids          the id of each amount, same length as the amounts, not null
+     * @param pool         the pool to sort in, not null
+     * @return the index, never null
+     * @throws IllegalArgumentException if the arrays differ in length
+     */
+    @RequiresApi(api = 21)
+    @NonNull
+    public static MoneyIndex ofMinor(
+            @NonNull CurrencyUnit currency, @NonNull long[] amountsMinor, @NonNull int[] ids, @NonNull ForkJoinPool pool) {
+        MoneyUtils.checkNotNull(pool, "ForkJoinPool must not be null");
+        MoneyIndex index = create(currency, amountsMinor, ids);
+        PrimitiveSorts.parallelSort(index.amounts, index.ids, pool);
+        return index;
+    }
+
+    /**
+     * Obtains an index of monetary values, using the position of each value as its id.
+     *
+     * @param currency the currency, not null
+     * @param moneys   the values to index, not null, no null elements
+     * @return the index, never null
+     * @throws CurrencyMismatchException if the currency of a value differs
+     * @throws ArithmeticException       if a value does not fit in a long of minor units
+     */
+    @NonNull
+    public static MoneyIndex of(@NonNull CurrencyUnit currency, @NonNull Collection<Money> moneys) {
+        MoneyIndex index = create(currency, moneys);
+        PrimitiveSorts.sort(index.amounts, index.ids);
+        return index;
+    }
+
+    /**
+     * Obtains an index of monetary values, using the position of each value as its id,
+     * sorting in a fork-join pool.
+     *
+     * @param currency the currency, not null
+     * @param moneys   the values to index, not null, no null elements
+     * @param pool     the pool to sort in, not null
+     * @return the index, never null
+     * @throws CurrencyMismatchException if the currency of a value differs
+     * @throws ArithmeticException       if a value does not fit in a long of minor units
+     */
+    @RequiresApi(api = 21)
+    @NonNull
+    public static MoneyIndex of(@NonNull CurrencyUnit currency, @NonNull Collection<Money> moneys, @NonNull ForkJoinPool pool) {
+        MoneyUtils.checkNotNull(pool, "ForkJoinPool must not be null");
+        MoneyIndex index = create(currency, moneys);
+        PrimitiveSorts.parallelSort(index.amounts, index.ids, pool);
+        return index;
+    }
+
+    private static MoneyIndex create(CurrencyUnit currency, long[] amountsMinor, int[] ids) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(amountsMinor, "Amounts must not be null");
+        MoneyUtils.checkNotNull(ids, "Ids must not be null");
+        if (amountsMinor.length != ids.length) {
+            throw new IllegalArgumentException("Amounts and ids must have the same length");
+        }
+        return new MoneyIndex(currency, amountsMinor.clone(), ids.clone());
+    }
+
+    private static MoneyIndex create(CurrencyUnit currency, Collection<Money> moneys) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(moneys, "Money collection must not be null");
+        long[] amountsMinor = new long[moneys.size()];
+        int[] ids = new int[amountsMinor.length];
+        int i = 0;
+        for (Money money : moneys) {
+            MoneyUtils.checkNotNull(money, "Money must not be null");
+            if (!currency.equals(money.getCurrencyUnit())) {
+                throw new CurrencyMismatchException(currency, money.getCurrencyUnit());
+            }
+            amountsMinor[i] = money.getAmountMinorLong();
+            ids[i] = i;
+            i++;
+        }
+        return new MoneyIndex(currency, amountsMinor, ids);
+    }
+
+    /**
+     * Constructor, which does not copy or sort the arrays.
+     *
+     * @param currency the currency, not null
+     * @param amounts  the amounts, not null
+     * @param ids      the ids, not null
+     */
+    private MoneyIndex(CurrencyUnit currency, long[] amounts, int[] ids) {
+        this.currency = currency;
+        this.amounts = amounts;
+        this.ids = ids;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the currency.
+     *
+     * @return the currency, never null
+     */
+    @NonNull
+    public CurrencyUnit getCurrencyUnit() {
+        return currency;
+    }
+
+    /**
+     * Gets the number of items in the index.
+     *
+     * @return the number of items
+     */
+    public int size() {
+        return amounts.length;
+    }
+
+    /**
+     * Gets the amount in minor units at a position in the sorted order.
+     *
+     * @param position the position, from zero to {@code size() - 1}
+     * @return the amount in minor units
+     * @throws IndexOutOfBoundsException if the position is invalid
+     */
+    public long getAmountMinor(int position) {
+        return amounts[checkPosition(position)];
+    }
+
+    /**
+     * Gets the id at a position in the sorted order.
+     *
+     * @param position the position, from zero to {@code size() - 1}
+     * @return the id
+     * @throws IndexOutOfBoundsException if the position is invalid
+     */
+    public int getId(int position) {
+        return ids[checkPosition(position)];
+    }
+
+    /**
+     * Gets the monetary value at a position in the sorted order.
+     *
+     * @param position the position, from zero to {@code size() - 1}
+     * @return the value, never null
+     * @throws IndexOutOfBoundsException if the position is invalid
+     */
+    @NonNull
+    public Money get(int position) {
+        return Money.ofMinor(currency, getAmountMinor(position));
+    }
+
+    /**
+     * Gets a copy of the amounts in minor units, in sorted order.
+     *
+     * @return the sorted amounts, never null
+     */
+    @NonNull
+    public long[] getAmountsMinor() {
+        return amounts.clone();
+    }
+
+    /**
+     * Gets a copy of the ids, in the sorted order of their amounts.
+     *
+     * @return the ids, never null
+     */
+    @NonNull
+    public int[] getIds() {
+        return ids.clone();
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the rank of an amount in minor units, which is the number of items with a smaller amount.
+     * <p>
+     * This is also the position of the first item with an amount greater than or equal to that specified.
+     *
+     * @param amountMinor the amount in minor units
+     * @return the rank, from zero to {@code size()}
+     */
+    public int rankOfMinor(long amountMinor) {
+        int low = 0;
+        int high = amounts.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (amounts[mid] < amountMinor) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Gets the rank of a monetary value, which is the number of items with a smaller amount.
+     *
+     * @param money the value, not null
+     * @return the rank, from zero to {@code size()}
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public int rankOf(@NonNull Money money) {
+        BigInteger unscaled = unscaledOf(money);
+        if (unscaled.bitLength() > 63) {
+            return (unscaled.signum() < 0 ? 0 : amounts.length);
+        }
+        return rankOfMinor(unscaled.longValue());
+    }
+
+    /**
+     * Counts the items with an amount between two amounts in minor units, inclusive.
+     *
+     * @param minMinor the minimum amount in minor units, inclusive
+     * @param maxMinor the maximum amount in minor units, inclusive
+     * @return the number of items in the range, zero if the minimum exceeds the maximum
+     */
+    public int countBetweenMinor(long minMinor, long maxMinor) {
+        if (minMinor > maxMinor) {
+            return 0;
+        }
+        return endOf(maxMinor) - rankOfMinor(minMinor);
+    }
+
+    /**
+     * Counts the items with an amount between two monetary values, inclusive.
+     *
+     * @param min the minimum value, inclusive, not null
+     * @param max the maximum value, inclusive, not null
+     * @return the number of items in the range, zero if the minimum exceeds the maximum
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public int countBetween(@NonNull Money min, @NonNull Money max) {
+        int from = rankOf(min);
+        int to = endOf(max);
+        return Math.max(to - from, 0);
+    }
+
+    /**
+     * Finds the ids of the items with an amount between two amounts in minor units, inclusive.
+     * <p>
+     * For example, this can find all the items priced between 10 and 20 dollars.
+     * The ids are returned in ascending order of amount.
+     *
+     * @param minMinor the minimum amount in minor units, inclusive
+     * @param maxMinor the maximum amount in minor units, inclusive
+     * @return the ids in the range, empty if the minimum exceeds the maximum, never null
+     */
+    @NonNull
+    public int[] idsBetweenMinor(long minMinor, long maxMinor) {
+        if (minMinor > maxMinor) {
+            return new int[0];
+        }
+        return copyIds(rankOfMinor(minMinor), endOf(maxMinor));
+    }
+
+    /**
+     * Finds the ids of the items with an amount between two monetary values, inclusive.
+     * <p>
+     * The ids are returned in ascending order of amount.
+     *
+     * @param min the minimum value, inclusive, not null
+     * @param max the maximum value, inclusive, not null
+     * @return the ids in the range, empty if the minimum exceeds the maximum, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    @NonNull
+    public int[] idsBetween(@NonNull Money min, @NonNull Money max) {
+        int from = rankOf(min);
+        int to = endOf(max);
+        return copyIds(from, Math.max(to, from));
+    }
+
+    /**
+     * Finds the ids of the items with the largest amounts.
+     * <p>
+     * The ids are returned in descending order of amount.
+     *
+     * @param count the maximum number of ids to return, not negative
+     * @return the ids, of length {@code min(count, size())}, never null
+     * @throws IllegalArgumentException if the count is negative
+     */
+    @NonNull
+    public int[] topIds(int count) {
+        int[] result = new int[checkCount(count)];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = ids[amounts.length - 1 - i];
+        }
+        return result;
+    }
+
+    /**
+     * Finds the ids of the items with the smallest amounts.
+     * <p>
+     * The ids are returned in ascending order of amount.
+     *
+     * @param count the maximum number of ids to return, not negative
+     * @return the ids, of length {@code min(count, size())}, never null
+     * @throws IllegalArgumentException if the count is negative
+     */
+    @NonNull
+    public int[] bottomIds(int count) {
+        return copyIds(0, checkCount(count));
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the position after the last item with an amount less than or equal to that specified.
+     */
+    private int endOf(long amountMinor) {
+        return (amountMinor == Long.MAX_VALUE ? amounts.length : rankOfMinor(amountMinor + 1));
+    }
+
+    private int endOf(Money money) {
+        BigInteger unscaled = unscaledOf(money);
+        if (unscaled.bitLength() > 63) {
+            return (unscaled.signum() < 0 ? 0 : amounts.length);
+        }
+        return endOf(unscaled.longValue());
+    }
+
+    private BigInteger unscaledOf(Money money) {
+        MoneyUtils.checkNotNull(money, "Money must not be null");
+        if (!currency.equals(money.getCurrencyUnit())) {
+            throw new CurrencyMismatchException(currency, money.getCurrencyUnit());
+        }
+        return money.getAmount().unscaledValue();
+    }
+
+    private int[] copyIds(int from, int to) {
+        int[] result = new int[to - from];
+        System.arraycopy(ids, from, result, 0, result.length);
+        return result;
+    }
+
+    private int checkPosition(int position) {
+        if (position < 0 || position >= amounts.length) {
+            throw new IndexOutOfBoundsException("Invalid position: " + position);
+        }
+        return position;
+    }
+
+    private int checkCount(int count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count must not be negative");
+        }
+        return Math.min(count, amounts.length);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets a string summary of the index.
+     *
+     * @return a string summarising the index, never null
+     */
+    @Override
+    public String toString() {
+        if (amounts.length == 0) {
+            return "MoneyIndex[" + currency + ", size=0]";
+        }
+        return "MoneyIndex[size=" + amounts.length + ", min=" + get(0) + ", max=" + get(amounts.length - 1) + "]";
+    }
+
+}
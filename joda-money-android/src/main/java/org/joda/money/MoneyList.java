@@ -0,0 +1,355 @@
+package org.joda.money;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import androidx.annotation.NonNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An immutable list of monetary values that can be efficiently written to a {@code Parcel}.
+ * <p>
+ * The values are held in columns, as an index into a dictionary of currencies,
+ * an unscaled amount and a scale. Unscaled amounts that do not fit in a {@code long}
+ * are held separately. When parcelled, the currency dictionary is written once,
+ * followed by the packed columns, rather than writing each value individually.
+ * <p>
+ * This is intended for passing large numbers of values between activities or processes.
+ * The currencies are looked up by code when read, so must be registered in the reading process.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class MoneyList implements Parcelable {
+
+    /**
+     * @see android.os.Parcelable.Creator
+     */
+    public static final Creator<MoneyList> CREATOR = new Creator<MoneyList>() {
+        @Override
+        public MoneyList createFromParcel(Parcel in) {
+            return new MoneyList(in);
+        }
+
+        @Override
+        public MoneyList[] newArray(int size) {
+            return new MoneyList[size];
+        }
+    };
+    /**
+     * The empty list.
+     */
+    private static final MoneyList EMPTY = new MoneyList(
+            new CurrencyUnit[0], new int[0], new long[0], new int[0], new int[0], new BigInteger[0]);
+
+    /**
+     * The currencies referred to by the indexes.
+     */
+    private final CurrencyUnit[] currencies;
+    /**
+     * The index into the currencies of each value.
+     */
+    private final int[] currencyIndexes;
+    /**
+     * The unscaled amount of each value, zero where held as an overflow.
+     */
+    private final long[] unscaledAmounts;
+    /**
+     * The scale of each value.
+     */
+    private final int[] scales;
+    /**
+     * The indexes of the values whose unscaled amount does not fit in a long, ascending.
+     */
+    private final int[] overflowIndexes;
+    /**
+     * The unscaled amounts of the overflow values.
+     */
+    private final BigInteger[] overflowAmounts;
+
+    /**
+     * Constructor for Parcel
+     */
+    protected MoneyList(Parcel in) {
+        String[] codes = in.createStringArray();
+        currencies = new CurrencyUnit[codes.length];
+        for (int i = 0; i < codes.length; i++) {
+            currencies[i] = CurrencyUnit.of(codes[i]);
+        }
+        currencyIndexes = in.createIntArray();
+        unscaledAmounts = in.createLongArray();
+        scales = in.createIntArray();
+        overflowIndexes = in.createIntArray();
+        overflowAmounts = new BigInteger[overflowIndexes.length];
+        for (int i = 0; i < overflowAmounts.length; i++) {
+            overflowAmounts[i] = new BigInteger(in.createByteArray());
+        }
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param currencies      the currency dictionary, not null
+     * @param currencyIndexes the currency indexes, not null
+     * @param unscaledAmounts the unscaled amounts, not null
+     * @param scales          the scales, not null
+     * @param overflowIndexes the overflow indexes, not null
+     * @param overflowAmounts the overflow amounts, not null
+     */
+    private MoneyList(
+            CurrencyUnit[] currencies,
+            int[] currencyIndexes,
+            long[] unscaledAmounts,
+            int[] scales,
+            int[] overflowIndexes,
+            BigInteger[] overflowAmounts) {
+        this.currencies = currencies;
+        this.currencyIndexes = currencyIndexes;
+        this.unscaledAmounts = unscaledAmounts;
+        this.scales = scales;
+        this.overflowIndexes = overflowIndexes;
+        this.overflowAmounts = overflowAmounts;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Obtains an instance containing the specified monetary values.
+     * <p>
+     * The values may be in any mix of currencies.
+     *
+     * @param moneyProviders the values to add, no null elements, not null
+     * @return the list, never null
+     */
+    @NonNull
+    public static MoneyList of(@NonNull Collection<? extends BigMoneyProvider> moneyProviders) {
+        MoneyUtils.checkNotNull(moneyProviders, "Money collection must not be null");
+        int size = moneyProviders.size();
+        if (size == 0) {
+            return EMPTY;
+        }
+        Map<CurrencyUnit, Integer> dictionary = new HashMap<>();
+        List<CurrencyUnit> currencies = new ArrayList<>();
+        int[] currencyIndexes = new int[size];
+        long[] unscaledAmounts = new long[size];
+        int[] scales = new int[size];
+        int[] overflowIndexes = new int[0];
+        BigInteger[] overflowAmounts = new BigInteger[0];
+        int overflowCount = 0;
+        int i = 0;
+        for (BigMoneyProvider provider : moneyProviders) {
+            if (i == size) {
+                throw new IllegalArgumentException("Money collection changed size while being read");
+            }
+            BigMoney money = BigMoney.of(provider);
+            CurrencyUnit currency = money.getCurrencyUnit();
+            Integer index = dictionary.get(currency);
+            if (index == null) {
+                index = currencies.size();
+                dictionary.put(currency, index);
+                currencies.add(currency);
+            }
+            currencyIndexes[i] = index;
+            BigDecimal amount = money.getAmount();
+            BigInteger unscaled = amount.unscaledValue();
+            if (unscaled.bitLength() <= 63) {
+                unscaledAmounts[i] = unscaled.longValue();
+            } else {
+                if (overflowCount == overflowIndexes.length) {
+                    overflowIndexes = Arrays.copyOf(overflowIndexes, overflowCount * 2 + 1);
+                    overflowAmounts = Arrays.copyOf(overflowAmounts, overflowCount * 2 + 1);
+                }
+                overflowIndexes[overflowCount] = i;
+                overflowAmounts[overflowCount] = unscaled;
+                overflowCount++;
+            }
+            scales[i] = amount.scale();
+            i++;
+        }
+        if (i != size) {
+            throw new IllegalArgumentException("Money collection changed size while being read");
+        }
+        return new MoneyList(
+                currencies.toArray(new CurrencyUnit[0]), currencyIndexes, unscaledAmounts, scales,
+                Arrays.copyOf(overflowIndexes, overflowCount), Arrays.copyOf(overflowAmounts, overflowCount));
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the number of values in the list.
+     *
+     * @return the size of the list
+     */
+    public int size() {
+        return currencyIndexes.length;
+    }
+
+    /**
+     * Checks if the list is empty.
+     *
+     * @return true if the list has no values
+     */
+    public boolean isEmpty() {
+        return currencyIndexes.length == 0;
+    }
+
+    /**
+     * Gets the currency of a value.
+     *
+     * @param index the index of the value
+     * @return the currency, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    @NonNull
+    public CurrencyUnit getCurrencyUnit(int index) {
+        return currencies[currencyIndexes[index]];
+    }
+
+    /**
+     * Gets a value as a {@code BigMoney}.
+     *
+     * @param index the index of the value
+     * @return the monetary value, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    @NonNull
+    public BigMoney getBigMoney(int index) {
+        CurrencyUnit currency = currencies[currencyIndexes[index]];
+        int overflow = (overflowIndexes.length == 0 ? -1 : Arrays.binarySearch(overflowIndexes, index));
+        if (overflow >= 0) {
+            return new BigMoney(currency, new BigDecimal(overflowAmounts[overflow], scales[index]));
+        }
+        return new BigMoney(currency, BigDecimal.valueOf(unscaledAmounts[index], scales[index]));
+    }
+
+    /**
+     * Gets a value as a {@code Money}.
+     *
+     * @param index the index of the value
+     * @return the monetary value, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws ArithmeticException       if the scale of the value exceeds the currency scale
+     */
+    @NonNull
+    public Money getMoney(int index) {
+        return getBigMoney(index).toMoney();
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Returns the values as an unmodifiable list of {@code BigMoney}.
+     * <p>
+     * The values are created when accessed.
+     *
+     * @return the list view, never null
+     */
+    @NonNull
+    public List<BigMoney> asBigMoneyList() {
+        return new AbstractList<BigMoney>() {
+            @Override
+            public BigMoney get(int index) {
+                return getBigMoney(index);
+            }
+
+            @Override
+            public int size() {
+                return MoneyList.this.size();
+            }
+        };
+    }
+
+    /**
+     * Returns the values as a new list of {@code Money}.
+     *
+     * @return the new list, never null
+     * @throws ArithmeticException if the scale of any value exceeds the currency scale
+     */
+    @NonNull
+    public List<Money> toMoneyList() {
+        List<Money> list = new ArrayList<>(size());
+        for (int i = 0; i < size(); i++) {
+            list.add(getMoney(i));
+        }
+        return list;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Checks if this list equals another list.
+     * <p>
+     * The lists are equal if they contain equal values in the same order.
+     *
+     * @param other the other object, null returns false
+     * @return true if this list equals the other list
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof MoneyList) {
+            return asBigMoneyList().equals(((MoneyList) other).asBigMoneyList());
+        }
+        return false;
+    }
+
+    /**
+     * Returns a hash code for this list.
+     *
+     * @return a suitable hash code
+     */
+    @Override
+    public int hashCode() {
+        return asBigMoneyList().hashCode();
+    }
+
+    /**
+     * Gets the list as a string.
+     *
+     * @return the string representation of the values, never null
+     */
+    @Override
+    public String toString() {
+        return asBigMoneyList().toString();
+    }
+
+    /**
+     * @see android.os.Parcelable#describeContents
+     */
+    @Override
+    public int describeContents() {
+        return 0;
+    }
+
+    /**
+     * Writes the currency codes once, then the packed columns, then each overflow amount.
+     *
+     * @see android.os.Parcelable#writeToParcel
+     */
+    @Override
+    public void writeToParcel(Parcel dest, int flags) {
+        String[] codes = new String[currencies.length];
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = currencies[i].getCode();
+        }
+        dest.writeStringArray(codes);
+        dest.writeIntArray(currencyIndexes);
+        dest.writeLongArray(unscaledAmounts);
+        dest.writeIntArray(scales);
+        dest.writeIntArray(overflowIndexes);
+        for (BigInteger amount : overflowAmounts) {
+            dest.writeByteArray(amount.toByteArray());
+        }
+    }
+}
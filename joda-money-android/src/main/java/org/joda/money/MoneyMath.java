@@ -0,0 +1,228 @@
+package org.joda.money;
+
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Exact arithmetic on amounts held as longs of minor units.
+ * <p>
+ * These helpers are used by the classes that work on minor units directly,
+ * rather than creating a {@code BigDecimal} for each value.
+ * <p>
+ * This utility class contains thread-safe static methods.
+ */
+final class MoneyMath {
+
+    /**
+     * Private constructor.
+     */
+    private MoneyMath() {
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Adds two longs, throwing an exception on overflow.
+     *
+     * @param a the first value
+     * @param b the second value
+     * @return the sum
+     * @throws ArithmeticException if the result overflows a long
+     */
+    static long addExact(long a, long b) {
+        long result = a + b;
+        if (((a ^ result) & (b ^ result)) < 0) {
+            throw new ArithmeticException("Long overflow");
+        }
+        return result;
+    }
+
+    /**
+     * Subtracts two longs, throwing an exception on overflow.
+     *
+     * @param a the value to subtract from
+     * @param b the value to subtract
+     * @return the difference
+     * @throws ArithmeticException if the result overflows a long
+     */
+    static long subtractExact(long a, long b) {
+        long result = a - b;
+        if (((a ^ b) & (a ^ result)) < 0) {
+            throw new ArithmeticException("Long overflow");
+        }
+        return result;
+    }
+
+    /**
+     * Checks if multiplying two longs overflows.
+     *
+     * @param a the first value
+     * @param b the second value
+     * @return true if the product does not fit in a long
+     */
+    static boolean isMultiplyOverflow(long a, long b) {
+        if (((Math.abs(a) | Math.abs(b)) >>> 31) == 0) {
+            return false;
+        }
+        if (b == 0) {
+            return false;
+        }
+        return (a == Long.MIN_VALUE && b == -1) || (a * b) / b != a;
+    }
+
+    /**
+     * Divides a long by a positive long, rounding in the same way as {@code BigDecimal}.
+     *
+     * @param dividend     the value to divide
+     * @param divisor      the value to divide by, greater than zero
+     * @param roundingMode the rounding mode to use, not null
+     * @return the rounded quotient
+     * @throws ArithmeticException if the rounding mode is {@code UNNECESSARY} and rounding is required
+     */
+    static long divideAndRound(long dividend, long divisor, RoundingMode roundingMode) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (remainder == 0) {
+            return quotient;
+        }
+        int signum = (dividend < 0 ? -1 : 1);
+        boolean increment;
+        switch (roundingMode) {
+            case UNNECESSARY:
+                throw new ArithmeticException("Rounding necessary");
+            case UP:
+                increment = true;
+                break;
+            case DOWN:
+                increment = false;
+                break;
+            case CEILING:
+                increment = (signum > 0);
+                break;
+            case FLOOR:
+                increment = (signum < 0);
+                break;
+            default: {
+                long absRemainder = Math.abs(remainder);
+                long cmp = absRemainder - (divisor - absRemainder);
+                if (cmp > 0) {
+                    increment = true;
+                } else if (cmp < 0) {
+                    increment = false;
+                } else if (roundingMode == RoundingMode.HALF_UP) {
+                    increment = true;
+                } else if (roundingMode == RoundingMode.HALF_DOWN) {
+                    increment = false;
+                } else {
+                    increment = ((quotient & 1) != 0);
+                }
+            }
+        }
+        return (increment ? quotient + signum : quotient);
+    }
+
+    /**
+     * Validates the ratios used for an allocation.
+     *
+     * @param ratios the ratios, not null, not empty, not negative, at least one greater than zero
+     * @throws IllegalArgumentException if the ratios are invalid
+     */
+    static void checkRatios(long[] ratios) {
+        MoneyUtils.checkNotNull(ratios, "Ratios must not be null");
+        if (ratios.length == 0) {
+            throw new IllegalArgumentException("Ratios must not be empty");
+        }
+        boolean positive = false;
+        for (long ratio : ratios) {
+            if (ratio < 0) {
+                throw new IllegalArgumentException("Ratios must not be negative");
+            }
+            positive |= (ratio > 0);
+        }
+        if (!positive) {
+            throw new IllegalArgumentException("Ratios must not all be zero");
+        }
+    }
+
+    /**
+     * Allocates an amount in minor units across ratios using long arithmetic.
+     * <p>
+     * Each share is the amount multiplied by its ratio and divided by the total of the ratios,
+     * rounded towards zero. The minor units left over are then given one at a time to the
+     * shares with a ratio greater than zero, in order, so that the shares add up to the amount.
+     *
+     * @param amount the amount in minor units
+     * @param ratios the ratios, validated
+     * @return the shares, null if the calculation would overflow a long
+     */
+    static long[] allocateMinor(long amount, long[] ratios) {
+        if (amount == Long.MIN_VALUE) {
+            return null;
+        }
+        long total = 0;
+        for (long ratio : ratios) {
+            total += ratio;
+            if (total < 0) {
+                return null;
+            }
+        }
+        long abs = Math.abs(amount);
+        long[] shares = new long[ratios.length];
+        long remainder = abs;
+        for (int i = 0; i < ratios.length; i++) {
+            if (isMultiplyOverflow(abs, ratios[i])) {
+                return null;
+            }
+            shares[i] = abs * ratios[i] / total;
+            remainder -= shares[i];
+        }
+        for (int i = 0; remainder > 0; i++) {
+            if (ratios[i] > 0) {
+                shares[i]++;
+                remainder--;
+            }
+        }
+        if (amount < 0) {
+            for (int i = 0; i < shares.length; i++) {
+                shares[i] = -shares[i];
+            }
+        }
+        return shares;
+    }
+
+    /**
+     * Allocates an amount in minor units across ratios using {@code BigInteger}.
+     * <p>
+     * The shares are identical to those of {@link #allocateMinor(long, long[])}.
+     *
+     * @param amount the amount in minor units, not null
+     * @param ratios the ratios, validated
+     * @return the shares, never null
+     */
+    static BigInteger[] allocateMinor(BigInteger amount, long[] ratios) {
+        BigInteger total = BigInteger.ZERO;
+        for (long ratio : ratios) {
+            total = total.add(BigInteger.valueOf(ratio));
+        }
+        BigInteger abs = amount.abs();
+        BigInteger[] shares = new BigInteger[ratios.length];
+        BigInteger remainder = abs;
+        for (int i = 0; i < ratios.length; i++) {
+            shares[i] = abs.multiply(BigInteger.valueOf(ratios[i])).divide(total);
+            remainder = remainder.subtract(shares[i]);
+        }
+        for (int i = 0; remainder.signum() > 0; i++) {
+            if (ratios[i] > 0) {
+                shares[i] = shares[i].add(BigInteger.ONE);
+                remainder = remainder.subtract(BigInteger.ONE);
+            }
+        }
+        if (amount.signum() < 0) {
+            for (int i = 0; i < shares.length; i++) {
+                shares[i] = shares[i].negate();
+            }
+        }
+        return shares;
+    }
+
+}
@@ -0,0 +1,196 @@
+package org.joda.money;
+
+import java.util.Arrays;
+
+/**
+ * A mergeable sketch of the distribution of amounts in minor units, used to estimate quantiles.
+ * <p>
+ * Amounts are counted in buckets whose bounds grow geometrically, so that any quantile
+ * is estimated to within the relative accuracy of the sketch. The number of buckets
+ * depends only on the accuracy and the range of a long, not on the number of amounts.
+ * Sketches with the same accuracy can be merged by adding their bucket counts.
+ * <p>
+ * This class is mutable and intended for use by a single thread.
+ */
+final class MoneyQuantileSketch {
+
+    /**
+     * The smallest relative accuracy, which limits a sketch to about 220,000 buckets for each sign.
+     */
+    static final double MIN_RELATIVE_ACCURACY = 1e-4;
+
+    /**
+     * The relative accuracy.
+     */
+    private final double relativeAccuracy;
+    /**
+     * The ratio between the bounds of adjacent buckets.
+     */
+    private final double gamma;
+    /**
+     * The reciprocal of the logarithm of gamma.
+     */
+    private final double inverseLogGamma;
+    /**
+     * The maximum bucket index.
+     */
+    private final int maxIndex;
+    /**
+     * The counts of positive amounts by bucket, grown as needed.
+     */
+    private long[] positive = new long[0];
+    /**
+     * The counts of negative amounts by bucket of their magnitude, grown as needed.
+     */
+    private long[] negative = new long[0];
+    /**
+     * The count of zero amounts.
+     */
+    private long zeroCount;
+    /**
+     * The total count.
+     */
+    private long count;
+
+    /**
+     * Constructor.
+     *
+     * @param relativeAccuracy the relative accuracy, from {@link #MIN_RELATIVE_ACCURACY} and less than one
+     * @throws IllegalArgumentException if the accuracy is invalid
+     */
+    MoneyQuantileSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy >= MIN_RELATIVE_ACCURACY && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be from " + MIN_RELATIVE_ACCURACY + " and less than one");
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.gamma = (1 + relativeAccuracy) / (1 - relativeAccuracy);
+        this.inverseLogGamma = 1 / Math.log(gamma);
+        this.maxIndex = indexOf(Long.MAX_VALUE);
+    }
+
+    /**
+     * Gets the relative accuracy.
+     *
+     * @return the relative accuracy
+     */
+    double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    /**
+     * Gets the number of amounts added.
+     *
+     * @return the count
+     */
+    long getCount() {
+        return count;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Adds an amount.
+     *
+     * @param amountMinor the amount in minor units
+     */
+    void add(long amountMinor) {
+        if (amountMinor > 0) {
+            positive = increment(positive, indexOf(amountMinor), 1);
+        } else if (amountMinor < 0) {
+            negative = increment(negative, indexOf(amountMinor == Long.MIN_VALUE ? Long.MAX_VALUE : -amountMinor), 1);
+        } else {
+            zeroCount++;
+        }
+        count++;
+    }
+
+    /**
+     * Adds a positive or negative amount that does not fit in a long, counting it in the last bucket.
+     *
+     * @param signum the sign of the amount
+     */
+    void addOutOfRange(int signum) {
+        if (signum > 0) {
+            positive = increment(positive, maxIndex, 1);
+        } else {
+            negative = increment(negative, maxIndex, 1);
+        }
+        count++;
+    }
+
+    /**
+     * Merges the counts of another sketch into this one.
+     *
+     * @param other the other sketch, with the same accuracy, not null
+     * @throws IllegalArgumentException if the accuracies differ
+     */
+    void merge(MoneyQuantileSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Quantile sketches have different accuracies");
+        }
+        for (int i = 0; i < other.positive.length; i++) {
+            if (other.positive[i] != 0) {
+                positive = increment(positive, i, other.positive[i]);
+            }
+        }
+        for (int i = 0; i < other.negative.length; i++) {
+            if (other.negative[i] != 0) {
+                negative = increment(negative, i, other.negative[i]);
+            }
+        }
+        zeroCount += other.zeroCount;
+        count += other.count;
+    }
+
+    /**
+     * Estimates a quantile.
+     *
+     * @param quantile the quantile, from zero to one
+     * @return the estimated amount in minor units
+     * @throws IllegalStateException if the sketch is empty
+     */
+    long getQuantileMinor(double quantile) {
+        if (count == 0) {
+            throw new IllegalStateException("Quantile sketch is empty");
+        }
+        long rank = (long) Math.floor(quantile * (count - 1));
+        long seen = 0;
+        for (int i = negative.length - 1; i >= 0; i--) {
+            seen += negative[i];
+            if (seen > rank) {
+                return -valueOf(i);
+            }
+        }
+        seen += zeroCount;
+        if (seen > rank) {
+            return 0;
+        }
+        for (int i = 0; i < positive.length; i++) {
+            seen += positive[i];
+            if (seen > rank) {
+                return valueOf(i);
+            }
+        }
+        return valueOf(positive.length - 1);
+    }
+
+    //-----------------------------------------------------------------------
+
+    private int indexOf(long magnitude) {
+        return (int) Math.ceil(Math.log(magnitude) * inverseLogGamma);
+    }
+
+    private long valueOf(int index) {
+        return Math.round(2 * Math.pow(gamma, index) / (gamma + 1));
+    }
+
+    private long[] increment(long[] buckets, int index, long amount) {
+        long[] result = buckets;
+        if (index >= result.length) {
+            result = Arrays.copyOf(result, Math.min(Math.max(index + 1, result.length * 2), maxIndex + 1));
+        }
+        result[index] += amount;
+        return result;
+    }
+
+}
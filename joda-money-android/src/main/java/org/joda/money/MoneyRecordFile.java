@@ -0,0 +1,483 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * A file of fixed-width monetary records, read using memory-mapping.
+ * <p>
+ * The file starts with a {@link #HEADER_SIZE} byte header holding a magic number and version.
+ * This is followed by records in the fixed form of {@link MoneyCodec}, the currency numeric
+ * code, the scale and the unscaled amount, big-endian. Files are created using {@link Writer}.
+ * <p>
+ * The records are accessed by index without creating monetary objects, and are only
+ * converted to {@code BigMoney} or {@code Money} when requested. Files larger than 2GB are
+ * mapped in multiple segments.
+ * <p>
+ * This class is thread-safe, however it must not be used after it is closed.
+ */
+public final class MoneyRecordFile implements Closeable, Iterable<BigMoney> {
+
+    /**
+     * The size of the header in bytes.
+     */
+    public static final int HEADER_SIZE = 16;
+    /**
+     * The size of each record in bytes.
+     */
+    public static final int RECORD_SIZE = MoneyCodec.FIXED_SIZE;
+    /**
+     * The magic number at the start of the file, 'JMRF'.
+     */
+    private static final int MAGIC = 0x4A4D5246;
+    /**
+     * The format version.
+     */
+    private static final int VERSION = 1;
+    /**
+     * The number of bits of the record index within a segment, giving 1GB segments.
+     */
+    private static final int SEGMENT_SHIFT = 26;
+    /**
+     * The mask of the record index within a segment.
+     */
+    private static final long SEGMENT_MASK = (1L << SEGMENT_SHIFT) - 1;
+
+    static {
+        // a mapped buffer cannot exceed Integer.MAX_VALUE bytes
+        if ((1L << SEGMENT_SHIFT) * RECORD_SIZE > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Segment size exceeds the limit of a mapped buffer");
+        }
+    }
+
+    /**
+     * The file.
+     */
+    private final RandomAccessFile file;
+    /**
+     * The mapped segments, each holding up to 2^26 records (1GB).
+     */
+    private final MappedByteBuffer[] segments;
+    /**
+     * The number of records.
+     */
+    private final long size;
+
+    /**
+     * Visitor receiving the fields of each record.
+     */
+    public interface RecordVisitor {
+
+        /**
+         * Receives a record.
+         *
+         * @param index          the index of the record
+         * @param numericCode    the currency numeric code
+         * @param unscaledAmount the unscaled amount
+         * @param scale          the scale
+         */
+        void visit(long index, int numericCode, long unscaledAmount, int scale);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Opens a record file for reading.
+     *
+     * @param file the file to open, not null
+     * @return the open file, never null
+     * @throws IOException if an IO error occurs or the file is not a record file
+     */
+    @NonNull
+    public static MoneyRecordFile open(@NonNull File file) throws IOException {
+        MoneyUtils.checkNotNull(file, "File must not be null");
+        RandomAccessFile raf = new RandomAccessFile(file, "r");
+        try {
+            return new MoneyRecordFile(raf);
+        } catch (IOException | RuntimeException ex) {
+            raf.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Opens a record file for reading.
+     *
+     * @param path the file to open, not null
+     * @return the open file, never null
+     * @throws IOException if an IO error occurs or the file is not a record file
+     */
+    @RequiresApi(api = 26)
+    @NonNull
+    public static MoneyRecordFile open(@NonNull Path path) throws IOException {
+        MoneyUtils.checkNotNull(path, "Path must not be null");
+        return open(path.toFile());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param file the file, not null
+     * @throws IOException if an IO error occurs or the file is not a record file
+     */
+    private MoneyRecordFile(RandomAccessFile file) throws IOException {
+        this.file = file;
+        FileChannel channel = file.getChannel();
+        long length = channel.size();
+        if (length < HEADER_SIZE) {
+            throw new IOException("File is too short to be a money record file");
+        }
+        ByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER_SIZE);
+        if (header.getInt(0) != MAGIC) {
+            throw new IOException("File is not a money record file");
+        }
+        if (header.getInt(4) != VERSION) {
+            throw new IOException("Money record file has unsupported version " + header.getInt(4));
+        }
+        this.size = (length - HEADER_SIZE) / RECORD_SIZE;
+        int segmentCount = (int) ((size + SEGMENT_MASK) >>> SEGMENT_SHIFT);
+        this.segments = new MappedByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            long first = (long) i << SEGMENT_SHIFT;
+            long count = Math.min(size - first, 1L << SEGMENT_SHIFT);
+            segments[i] = channel.map(FileChannel.MapMode.READ_ONLY, HEADER_SIZE + first * RECORD_SIZE, count * RECORD_SIZE);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the number of records.
+     *
+     * @return the number of records
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * Gets the currency numeric code of a record.
+     *
+     * @param index the record index
+     * @return the numeric code
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public int getNumericCode(long index) {
+        return segment(index).getInt(offset(index));
+    }
+
+    /**
+     * Gets the scale of a record.
+     *
+     * @param index the record index
+     * @return the scale
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public int getScale(long index) {
+        return segment(index).getInt(offset(index) + 4);
+    }
+
+    /**
+     * Gets the unscaled amount of a record.
+     *
+     * @param index the record index
+     * @return the unscaled amount
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public long getUnscaledAmount(long index) {
+        return segment(index).getLong(offset(index) + 8);
+    }
+
+    /**
+     * Gets the currency of a record.
+     *
+     * @param index the record index
+     * @return the currency, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws IllegalCurrencyException  if the currency is unknown
+     */
+    @NonNull
+    public CurrencyUnit getCurrencyUnit(long index) {
+        return CurrencyUnit.ofNumericCode(getNumericCode(index));
+    }
+
+    /**
+     * Gets a record as a {@code BigMoney}.
+     *
+     * @param index the record index
+     * @return the monetary value, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws IllegalCurrencyException  if the currency is unknown
+     */
+    @NonNull
+    public BigMoney getBigMoney(long index) {
+        return MoneyCodec.getFixed(segment(index), offset(index));
+    }
+
+    /**
+     * Gets a record as a {@code Money}.
+     *
+     * @param index the record index
+     * @return the monetary value, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws IllegalCurrencyException  if the currency is unknown
+     * @throws ArithmeticException       if the scale exceeds the currency scale
+     */
+    @NonNull
+    public Money getMoney(long index) {
+        return getBigMoney(index).toMoney();
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Visits the fields of a range of records in order, without creating monetary objects.
+     *
+     * @param fromIndex the first index, inclusive
+     * @param toIndex   the last index, exclusive
+     * @param visitor   the visitor, not null
+     * @throws IndexOutOfBoundsException if the range is invalid
+     */
+    public void forEach(long fromIndex, long toIndex, @NonNull RecordVisitor visitor) {
+        MoneyUtils.checkNotNull(visitor, "RecordVisitor must not be null");
+        checkRange(fromIndex, toIndex);
+        for (long index = fromIndex; index < toIndex; index++) {
+            ByteBuffer segment = segments[(int) (index >>> SEGMENT_SHIFT)];
+            int offset = (int) (index & SEGMENT_MASK) * RECORD_SIZE;
+            visitor.visit(index, segment.getInt(offset), segment.getLong(offset + 8), segment.getInt(offset + 4));
+        }
+    }
+
+    /**
+     * Sums a range of records, all of which must be in the specified currency.
+     * <p>
+     * The sum is accumulated in a long at the largest scale found, only falling back
+     * to {@code BigDecimal} if the total overflows.
+     *
+     * @param currency  the currency of the records, not null
+     * @param fromIndex the first index, inclusive
+     * @param toIndex   the last index, exclusive
+     * @return the total, zero if the range is empty, never null
+     * @throws IndexOutOfBoundsException if the range is invalid
+     * @throws IllegalCurrencyException  if the currency has no identifying numeric code
+     * @throws CurrencyMismatchException if a record is in a different currency
+     */
+    @NonNull
+    public BigMoney sum(@NonNull CurrencyUnit currency, long fromIndex, long toIndex) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        checkRange(fromIndex, toIndex);
+        int numericCode = MoneyCodec.numericCodeOf(currency);
+        MoneyAccumulator total = new MoneyAccumulator();
+        for (long index = fromIndex; index < toIndex; index++) {
+            ByteBuffer segment = segments[(int) (index >>> SEGMENT_SHIFT)];
+            int offset = (int) (index & SEGMENT_MASK) * RECORD_SIZE;
+            if (segment.getInt(offset) != numericCode) {
+                throw new CurrencyMismatchException(currency, getCurrencyUnit(index));
+            }
+            total.add(segment.getLong(offset + 8), segment.getInt(offset + 4));
+        }
+        return new BigMoney(currency, total.getTotal());
+    }
+
+    /**
+     * Returns an iterator over the records as {@code BigMoney}, created as they are reached.
+     *
+     * @return the iterator, never null
+     */
+    @NonNull
+    @Override
+    public Iterator<BigMoney> iterator() {
+        return new Iterator<BigMoney>() {
+            private long index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public BigMoney next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return getBigMoney(index++);
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException("MoneyRecordFile is read-only");
+            }
+        };
+    }
+
+    /**
+     * Closes the file.
+     * <p>
+     * The mapped memory is released when it is garbage collected.
+     *
+     * @throws IOException if an IO error occurs
+     */
+    @Override
+    public void close() throws IOException {
+        file.close();
+    }
+
+    //-----------------------------------------------------------------------
+
+    private ByteBuffer segment(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid record index: " + index);
+        }
+        return segments[(int) (index >>> SEGMENT_SHIFT)];
+    }
+
+    private static int offset(long index) {
+        return (int) (index & SEGMENT_MASK) * RECORD_SIZE;
+    }
+
+    private void checkRange(long fromIndex, long toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Invalid record range: " + fromIndex + " to " + toIndex);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Writes a new record file.
+     * <p>
+     * Records are buffered and written sequentially.
+     * The currency of each record must have a numeric code that identifies it.
+     * <p>
+     * This class is mutable and intended for use by a single thread.
+     */
+    public static final class Writer implements Closeable, Flushable {
+
+        /**
+         * The number of records buffered before writing.
+         */
+        private static final int BUFFER_RECORDS = 4096;
+
+        /**
+         * The file.
+         */
+        private final RandomAccessFile file;
+        /**
+         * The write buffer.
+         */
+        private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_RECORDS * RECORD_SIZE);
+        /**
+         * The number of records written.
+         */
+        private long count;
+
+        /**
+         * Creates a new file, replacing any existing file.
+         *
+         * @param file the file to create, not null
+         * @throws IOException if an IO error occurs
+         */
+        public Writer(@NonNull File file) throws IOException {
+            MoneyUtils.checkNotNull(file, "File must not be null");
+            this.file = new RandomAccessFile(file, "rw");
+            this.file.setLength(0);
+            buffer.putInt(MAGIC).putInt(VERSION).putLong(0);
+        }
+
+        /**
+         * Appends a monetary value.
+         *
+         * @param moneyProvider the money to append, not null
+         * @return this, for chaining, never null
+         * @throws IllegalCurrencyException if the currency has no identifying numeric code
+         * @throws ArithmeticException      if the unscaled amount does not fit in a long
+         * @throws IOException              if an IO error occurs
+         */
+        @NonNull
+        public Writer append(@NonNull BigMoneyProvider moneyProvider) throws IOException {
+            BigMoney money = BigMoney.of(moneyProvider);
+            return append(MoneyCodec.numericCodeOf(money.getCurrencyUnit()), MoneyCodec.unscaledOf(money.getAmount()), money.getScale());
+        }
+
+        /**
+         * Appends a monetary value from its fields.
+         *
+         * @param currency       the currency, not null
+         * @param unscaledAmount the unscaled amount
+         * @param scale          the scale, zero or positive
+         * @return this, for chaining, never null
+         * @throws IllegalCurrencyException if the currency has no identifying numeric code
+         * @throws IOException              if an IO error occurs
+         */
+        @NonNull
+        public Writer append(@NonNull CurrencyUnit currency, long unscaledAmount, int scale) throws IOException {
+            MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+            if (scale < 0) {
+                throw new IllegalArgumentException("Scale must be zero or positive");
+            }
+            return append(MoneyCodec.numericCodeOf(currency), unscaledAmount, scale);
+        }
+
+        private Writer append(int numericCode, long unscaledAmount, int scale) throws IOException {
+            if (buffer.remaining() < RECORD_SIZE) {
+                flush();
+            }
+            int pos = buffer.position();
+            MoneyCodec.putFixed(buffer, pos, numericCode, scale, unscaledAmount);
+            buffer.position(pos + RECORD_SIZE);
+            count++;
+            return this;
+        }
+
+        /**
+         * Gets the number of records appended.
+         *
+         * @return the number of records
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * Writes any buffered records to the file.
+         *
+         * @throws IOException if an IO error occurs
+         */
+        @Override
+        public void flush() throws IOException {
+            buffer.flip();
+            FileChannel channel = file.getChannel();
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+
+        /**
+         * Writes any buffered records and closes the file.
+         *
+         * @throws IOException if an IO error occurs
+         */
+        @Override
+        public void close() throws IOException {
+            try {
+                flush();
+            } finally {
+                file.close();
+            }
+        }
+    }
+
+}
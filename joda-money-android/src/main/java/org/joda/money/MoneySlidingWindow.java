@@ -0,0 +1,321 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Sums monetary values recorded over a sliding window of time, separately for each currency.
+ * <p>
+ * Time is divided into fixed intervals, and each currency has a ring buffer with one bucket
+ * per interval holding the sum of that interval in minor units. Recording a value adds it to
+ * the bucket of its timestamp, reusing the bucket of an interval that has left the window.
+ * The sum over a recent period adds the buckets that overlap it, so the cost depends on the
+ * number of intervals in the period, not on the number of values recorded. This suits checks such as
+ * "no more than 'EUR 1000' in 24 hours per card", made on every authorization.
+ * <p>
+ * Because whole intervals are summed, the sum over a period includes every value recorded
+ * in the interval containing the start of the period. The sum therefore never misses a value
+ * in the period, but may include values up to one interval older.
+ * <p>
+ * Timestamps are milliseconds from the epoch, as per {@link System#currentTimeMillis()}.
+ * Each value is checked against a reference time, by default the current time. Values older
+ * than the maximum window, or later than the interval after the reference time, are rejected,
+ * so that a skewed clock cannot occupy a bucket needed by current values. Values may be recorded
+ * concurrently without locking. A value recorded with a timestamp just leaving the window,
+ * while another thread reuses its bucket, may be discarded.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class MoneySlidingWindow {
+
+    /**
+     * The length of an interval in milliseconds.
+     */
+    private final long intervalMillis;
+    /**
+     * The longest period that can be summed in milliseconds, a whole number of intervals.
+     */
+    private final long maxWindowMillis;
+    /**
+     * The number of buckets in each ring.
+     */
+    private final int bucketCount;
+    /**
+     * The rings of buckets by currency.
+     */
+    private final ConcurrentMap<CurrencyUnit, AtomicReferenceArray<Bucket>> rings = new ConcurrentHashMap<>();
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Constructor.
+     * <p>
+     * For example, a maximum window of 24 hours and an interval of 10 minutes gives rings of 146 buckets,
+     * one for each interval of the window, one for the interval containing its start,
+     * and one for the interval after the reference time.
+     *
+     * @param maxWindow the longest period that can be summed, greater than zero
+     * @param interval  the length of each bucket, greater than zero and no longer than the window
+     * @param unit      the unit of the window and interval, not null
+     * @throws IllegalArgumentException if the window or interval is invalid
+     */
+    public MoneySlidingWindow(long maxWindow, long interval, @NonNull TimeUnit unit) {
+        MoneyUtils.checkNotNull(unit, "TimeUnit must not be null");
+        long maxWindowMillis = unit.toMillis(maxWindow);
+        long intervalMillis = unit.toMillis(interval);
+        if (intervalMillis <= 0) {
+            throw new IllegalArgumentException("Interval must be at least one millisecond");
+        }
+        if (maxWindowMillis < intervalMillis) {
+            throw new IllegalArgumentException("Window must not be shorter than the interval");
+        }
+        long intervals = MoneyMath.divideAndRound(maxWindowMillis, intervalMillis, RoundingMode.CEILING);
+        if (intervals >= 1 << 20) {
+            throw new IllegalArgumentException("Window has too many intervals: " + intervals);
+        }
+        this.intervalMillis = intervalMillis;
+        this.maxWindowMillis = intervals * intervalMillis;
+        this.bucketCount = (int) intervals + 2;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the length of an interval in milliseconds.
+     *
+     * @return the interval in milliseconds
+     */
+    public long getIntervalMillis() {
+        return intervalMillis;
+    }
+
+    /**
+     * Gets the longest period that can be summed, in milliseconds.
+     *
+     * @return the maximum window in milliseconds
+     */
+    public long getMaxWindowMillis() {
+        return maxWindowMillis;
+    }
+
+    /**
+     * Gets the currencies that have been recorded.
+     *
+     * @return the sorted, independent, set of currencies, never null
+     */
+    @NonNull
+    public Set<CurrencyUnit> getCurrencies() {
+        return Collections.unmodifiableSet(new TreeSet<>(rings.keySet()));
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Records a monetary value at the current time.
+     *
+     * @param money the money to record, not null
+     * @throws ArithmeticException if the sum of an interval exceeds a long of minor units
+     */
+    public void record(@NonNull Money money) {
+        record(System.currentTimeMillis(), money);
+    }
+
+    /**
+     * Records a monetary value at a time.
+     *
+     * @param timestampMillis the time of the value, in milliseconds from the epoch
+     * @param money           the money to record, not null
+     * @return true if recorded, false if the time is outside the window of the current time
+     * @throws ArithmeticException if the sum of an interval exceeds a long of minor units
+     */
+    public boolean record(long timestampMillis, @NonNull Money money) {
+        MoneyUtils.checkNotNull(money, "Money must not be null");
+        return recordMinor(timestampMillis, money.getCurrencyUnit(), money.getAmountMinorLong(), System.currentTimeMillis());
+    }
+
+    /**
+     * Records an amount in minor units at a time.
+     * <p>
+     * The amount is at the scale of the currency, as per {@link Money#getAmountMinorLong()}.
+     *
+     * @param timestampMillis the time of the value, in milliseconds from the epoch
+     * @param currency        the currency, not null
+     * @param amountMinor     the amount to record in minor units
+     * @return true if recorded, false if the time is outside the window of the current time
+     * @throws ArithmeticException if the sum of an interval exceeds a long of minor units
+     */
+    public boolean recordMinor(long timestampMillis, @NonNull CurrencyUnit currency, long amountMinor) {
+        return recordMinor(timestampMillis, currency, amountMinor, System.currentTimeMillis());
+    }
+
+    /**
+     * Records an amount in minor units at a time, checked against a reference time.
+     * <p>
+     * The value is rejected if its time is before the maximum window ending at the reference
+     * time, or after the interval following the reference time. This allows values to be
+     * replayed against the time at which they were received.
+     *
+     * @param timestampMillis the time of the value, in milliseconds from the epoch
+     * @param currency        the currency, not null
+     * @param amountMinor     the amount to record in minor units
+     * @param nowMillis       the reference time, in milliseconds from the epoch
+     * @return true if recorded, false if the time is outside the window of the reference time
+     * @throws ArithmeticException if the sum of an interval exceeds a long of minor units
+     */
+    public boolean recordMinor(long timestampMillis, @NonNull CurrencyUnit currency, long amountMinor, long nowMillis) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        long epoch = epochOf(timestampMillis);
+        long nowEpoch = epochOf(nowMillis);
+        if (epoch < nowEpoch - (bucketCount - 2) || epoch > nowEpoch + 1) {
+            return false;
+        }
+        AtomicReferenceArray<Bucket> ring = rings.get(currency);
+        if (ring == null) {
+            AtomicReferenceArray<Bucket> created = new AtomicReferenceArray<>(bucketCount);
+            ring = rings.putIfAbsent(currency, created);
+            if (ring == null) {
+                ring = created;
+            }
+        }
+        int slot = slotOf(epoch);
+        while (true) {
+            Bucket bucket = ring.get(slot);
+            if (bucket != null && bucket.epoch == epoch) {
+                bucket.add(amountMinor);
+                return true;
+            }
+            if (bucket != null && bucket.epoch > epoch) {
+                return false;
+            }
+            Bucket replacement = new Bucket(epoch, amountMinor);
+            if (ring.compareAndSet(slot, bucket, replacement)) {
+                return true;
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the sum of the values recorded over a recent period up to the current time.
+     *
+     * @param currency the currency, not null
+     * @param window   the length of the period, not negative or longer than the maximum window
+     * @param unit     the unit of the period, not null
+     * @return the sum, zero if none recorded, never null
+     * @throws IllegalArgumentException if the period is invalid
+     * @throws ArithmeticException      if the sum exceeds a long of minor units
+     */
+    @NonNull
+    public Money sumOverLast(@NonNull CurrencyUnit currency, long window, @NonNull TimeUnit unit) {
+        MoneyUtils.checkNotNull(unit, "TimeUnit must not be null");
+        return Money.ofMinor(currency, sumOverLastMinor(currency, unit.toMillis(window), System.currentTimeMillis()));
+    }
+
+    /**
+     * Gets the sum of the values recorded over a recent period up to the current time.
+     *
+     * @param currency the currency, not null
+     * @param window   the length of the period, not negative or longer than the maximum window, not null
+     * @return the sum, zero if none recorded, never null
+     * @throws IllegalArgumentException if the period is invalid
+     * @throws ArithmeticException      if the sum exceeds a long of minor units
+     */
+    @RequiresApi(api = 26)
+    @NonNull
+    public Money sumOverLast(@NonNull CurrencyUnit currency, @NonNull Duration window) {
+        MoneyUtils.checkNotNull(window, "Duration must not be null");
+        return Money.ofMinor(currency, sumOverLastMinor(currency, window.toMillis(), System.currentTimeMillis()));
+    }
+
+    /**
+     * Gets the sum in minor units of the values recorded over the period ending at a time.
+     * <p>
+     * Values with a timestamp in an interval after the end of the period are excluded.
+     *
+     * @param currency     the currency, not null
+     * @param windowMillis the length of the period in milliseconds, not negative or longer than the maximum window
+     * @param nowMillis    the end of the period, in milliseconds from the epoch
+     * @return the sum in minor units, zero if none recorded
+     * @throws IllegalArgumentException if the period is invalid
+     * @throws ArithmeticException      if the sum exceeds a long
+     */
+    public long sumOverLastMinor(@NonNull CurrencyUnit currency, long windowMillis, long nowMillis) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        if (windowMillis < 0 || windowMillis > getMaxWindowMillis()) {
+            throw new IllegalArgumentException("Window must be from zero to " + getMaxWindowMillis() + "ms");
+        }
+        AtomicReferenceArray<Bucket> ring = rings.get(currency);
+        if (ring == null) {
+            return 0;
+        }
+        long lastEpoch = epochOf(nowMillis);
+        long firstEpoch = epochOf(nowMillis - windowMillis);
+        long sum = 0;
+        for (long epoch = firstEpoch; epoch <= lastEpoch; epoch++) {
+            Bucket bucket = ring.get(slotOf(epoch));
+            if (bucket != null && bucket.epoch == epoch) {
+                sum = MoneyMath.addExact(sum, bucket.sum.get());
+            }
+        }
+        return sum;
+    }
+
+    //-----------------------------------------------------------------------
+
+    private long epochOf(long timestampMillis) {
+        return MoneyMath.divideAndRound(timestampMillis, intervalMillis, RoundingMode.FLOOR);
+    }
+
+    private int slotOf(long epoch) {
+        int slot = (int) (epoch % bucketCount);
+        return (slot < 0 ? slot + bucketCount : slot);
+    }
+
+    /**
+     * The sum of one interval.
+     */
+    private static final class Bucket {
+        private final long epoch;
+        private final AtomicLong sum;
+
+        Bucket(long epoch, long sum) {
+            this.epoch = epoch;
+            this.sum = new AtomicLong(sum);
+        }
+
+        void add(long amountMinor) {
+            while (true) {
+                long current = sum.get();
+                if (sum.compareAndSet(current, MoneyMath.addExact(current, amountMinor))) {
+                    return;
+                }
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets a string summary of the window.
+     *
+     * @return a string summarising the window, never null
+     */
+    @Override
+    public String toString() {
+        return "MoneySlidingWindow[interval=" + intervalMillis + "ms, maxWindow=" + getMaxWindowMillis() +
+                "ms, currencies=" + getCurrencies() + "]";
+    }
+
+}
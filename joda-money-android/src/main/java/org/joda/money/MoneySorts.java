@@ -0,0 +1,206 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Sorts large arrays and lists of monetary values in one currency by amount.
+ * <p>
+ * Sorting with {@link Money#compareTo(BigMoneyProvider)} compares two {@code BigDecimal}
+ * amounts for every comparison. These methods instead extract the amount of each value
+ * once, as a {@code long} at a common scale, sort the longs with their positions, then
+ * apply the resulting order to the values. The sequential methods use a radix sort and the
+ * methods taking a {@code ForkJoinPool} use a parallel merge sort. If any amount does not
+ * fit in a long, the values are sorted by {@code compareTo} instead.
+ * <p>
+ * All the sorts are stable, so values with equal amounts, such as 'USD 1.0' and 'USD 1.00',
+ * keep their relative order. The result is the same as sorting with {@code compareTo}.
+ * <p>
+ * This utility class contains thread-safe static methods.
+ */
+public final class MoneySorts {
+
+    /**
+     * Private constructor.
+     */
+    private MoneySorts() {
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Sorts an array of monetary values into ascending order of amount.
+     *
+     * @param <T>   the type of the values
+     * @param array the array to sort, not null, no null elements
+     * @throws CurrencyMismatchException if the values do not all have the same currency
+     */
+    public static <T extends BigMoneyProvider> void sort(@NonNull T[] array) {
+        MoneyUtils.checkNotNull(array, "Array must not be null");
+        apply(array, sortedOrder(array));
+    }
+
+    /**
+     * Sorts an array of monetary values into ascending order of amount, using a fork-join pool.
+     *
+     * @param <T>   the type of the values
+     * @param array the array to sort, not null, no null elements
+     * @param pool  the pool to sort in, not null
+     * @throws CurrencyMismatchException if the values do not all have the same currency
+     */
+    @RequiresApi(api = 21)
+    public static <T extends BigMoneyProvider> void sort(@NonNull T[] array, @NonNull ForkJoinPool pool) {
+        MoneyUtils.checkNotNull(array, "Array must not be null");
+        MoneyUtils.checkNotNull(pool, "ForkJoinPool must not be null");
+        apply(array, parallelSortedOrder(array, pool));
+    }
+
+    /**
+     * Sorts a list of monetary values into ascending order of amount.
+     * <p>
+     * As with {@code Collections.sort}, the list must support {@code set}.
+     *
+     * @param <T>  the type of the values
+     * @param list the list to sort, not null, no null elements
+     * @throws CurrencyMismatchException if the values do not all have the same currency
+     */
+    public static <T extends BigMoneyProvider> void sort(@NonNull List<T> list) {
+        MoneyUtils.checkNotNull(list, "List must not be null");
+        BigMoneyProvider[] array = list.toArray(new BigMoneyProvider[list.size()]);
+        apply(array, sortedOrder(array));
+        setAll(list, array);
+    }
+
+    /**
+     * Sorts a list of monetary values into ascending order of amount, using a fork-join pool.
+     * <p>
+     * As with {@code Collections.sort}, the list must support {@code set}.
+     *
+     * @param <T>  the type of the values
+     * @param list the list to sort, not null, no null elements
+     * @param pool the pool to sort in, not null
+     * @throws CurrencyMismatchException if the values do not all have the same currency
+     */
+    @RequiresApi(api = 21)
+    public static <T extends BigMoneyProvider> void sort(@NonNull List<T> list, @NonNull ForkJoinPool pool) {
+        MoneyUtils.checkNotNull(list, "List must not be null");
+        MoneyUtils.checkNotNull(pool, "ForkJoinPool must not be null");
+        BigMoneyProvider[] array = list.toArray(new BigMoneyProvider[list.size()]);
+        apply(array, parallelSortedOrder(array, pool));
+        setAll(list, array);
+    }
+
+    /**
+     * Finds the order that would sort an array of monetary values, without changing the array.
+     * <p>
+     * Element {@code i} of the result is the index in the array of the value at position
+     * {@code i} in sorted order. This allows other arrays parallel to the values,
+     * such as the lines of a statement, to be sorted in the same way.
+     *
+     * @param array the array to examine, not null, no null elements
+     * @return the sorted order of the indices, never null
+     * @throws CurrencyMismatchException if the values do not all have the same currency
+     */
+    @NonNull
+    public static int[] sortedOrder(@NonNull BigMoneyProvider[] array) {
+        MoneyUtils.checkNotNull(array, "Array must not be null");
+        BigMoney[] moneys = moneysOf(array);
+        long[] keys = keysOf(moneys);
+        if (keys == null) {
+            return sortedOrderBig(moneys);
+        }
+        int[] order = identity(keys.length);
+        PrimitiveSorts.radixSort(keys, order);
+        return order;
+    }
+
+    //-----------------------------------------------------------------------
+
+    @RequiresApi(api = 21)
+    private static int[] parallelSortedOrder(BigMoneyProvider[] array, ForkJoinPool pool) {
+        BigMoney[] moneys = moneysOf(array);
+        long[] keys = keysOf(moneys);
+        if (keys == null) {
+            return sortedOrderBig(moneys);
+        }
+        int[] order = identity(keys.length);
+        PrimitiveSorts.parallelSort(keys, order, pool);
+        return order;
+    }
+
+    private static BigMoney[] moneysOf(BigMoneyProvider[] array) {
+        BigMoney[] moneys = new BigMoney[array.length];
+        for (int i = 0; i < array.length; i++) {
+            moneys[i] = BigMoney.of(array[i]);
+            if (!moneys[0].getCurrencyUnit().equals(moneys[i].getCurrencyUnit())) {
+                throw new CurrencyMismatchException(moneys[0].getCurrencyUnit(), moneys[i].getCurrencyUnit());
+            }
+        }
+        return moneys;
+    }
+
+    /**
+     * Gets the amounts as longs at the largest scale, or null if any does not fit.
+     */
+    private static long[] keysOf(BigMoney[] moneys) {
+        int scale = 0;
+        for (BigMoney money : moneys) {
+            scale = Math.max(scale, money.getScale());
+        }
+        long[] keys = new long[moneys.length];
+        for (int i = 0; i < moneys.length; i++) {
+            BigDecimal amount = moneys[i].getAmount();
+            BigInteger unscaled = (amount.scale() == scale ? amount : amount.setScale(scale)).unscaledValue();
+            if (unscaled.bitLength() > 63) {
+                return null;
+            }
+            keys[i] = unscaled.longValue();
+        }
+        return keys;
+    }
+
+    private static int[] identity(int length) {
+        int[] order = new int[length];
+        for (int i = 0; i < length; i++) {
+            order[i] = i;
+        }
+        return order;
+    }
+
+    private static int[] sortedOrderBig(final BigMoney[] moneys) {
+        Integer[] boxed = new Integer[moneys.length];
+        for (int i = 0; i < boxed.length; i++) {
+            boxed[i] = i;
+        }
+        Arrays.sort(boxed, (index1, index2) -> moneys[index1].compareTo(moneys[index2]));
+        int[] order = new int[boxed.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = boxed[i];
+        }
+        return order;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T extends BigMoneyProvider> void setAll(List<T> list, BigMoneyProvider[] array) {
+        ListIterator<T> it = list.listIterator();
+        for (BigMoneyProvider value : array) {
+            it.next();
+            it.set((T) value);
+        }
+    }
+
+    private static <T> void apply(T[] array, int[] order) {
+        T[] copy = array.clone();
+        for (int i = 0; i < order.length; i++) {
+            array[i] = copy[order[i]];
+        }
+    }
+
+}
@@ -0,0 +1,357 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+
+/**
+ * Collects statistics about monetary values in one currency, such as count, sum, minimum and maximum.
+ * <p>
+ * This is modelled on {@code java.util.LongSummaryStatistics}, working on the minor units of
+ * each value. The sum is exact, carrying into a {@code BigInteger} if it overflows a long.
+ * Optionally, a quantile sketch can be kept to estimate amounts such as the median or the
+ * 99th percentile to within a chosen relative accuracy. The memory used does not depend on
+ * the number of values.
+ * <p>
+ * Instances may be combined, so they can be used to collect a parallel stream:
+ * <pre>
+ *  stream.collect(() -&gt; new MoneySummaryStatistics(currency),
+ *      MoneySummaryStatistics::accept, MoneySummaryStatistics::combine);
+ * </pre>
+ * <p>
+ * This class is mutable and intended for use by a single thread.
+ */
+public final class MoneySummaryStatistics {
+
+    /**
+     * The currency.
+     */
+    private final CurrencyUnit currency;
+    /**
+     * The quantile sketch, null if quantiles are not collected.
+     */
+    private final MoneyQuantileSketch sketch;
+    /**
+     * The number of values.
+     */
+    private long count;
+    /**
+     * The sum while it fits in a long.
+     */
+    private long sum;
+    /**
+     * The part of the sum carried out of the long, zero if none.
+     */
+    private BigInteger carry = BigInteger.ZERO;
+    /**
+     * The minimum of the values that do not fit in a long, null if none.
+     */
+    private BigInteger min;
+    /**
+     * The maximum of the values that do not fit in a long, null if none.
+     */
+    private BigInteger max;
+    /**
+     * The minimum of the values that fit in a long.
+     */
+    private long minMinor = Long.MAX_VALUE;
+    /**
+     * The maximum of the values that fit in a long.
+     */
+    private long maxMinor = Long.MIN_VALUE;
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Constructor, without quantiles.
+     *
+     * @param currency the currency, not null
+     */
+    public MoneySummaryStatistics(@NonNull CurrencyUnit currency) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        this.currency = currency;
+        this.sketch = null;
+    }
+
+    /**
+     * Constructor, collecting quantiles to the specified relative accuracy.
+     * <p>
+     * For example, an accuracy of 0.01 estimates each quantile to within 1% of its true amount.
+     * The finest accuracy is 0.0001, which bounds the memory used to a few megabytes.
+     * Statistics can only be combined if they have the same accuracy.
+     *
+     * @param currency         the currency, not null
+     * @param relativeAccuracy the relative accuracy of quantiles, from 0.0001 and less than one
+     * @throws IllegalArgumentException if the accuracy is invalid
+     */
+    public MoneySummaryStatistics(@NonNull CurrencyUnit currency, double relativeAccuracy) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        this.currency = currency;
+        this.sketch = new MoneyQuantileSketch(relativeAccuracy);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Records a monetary value.
+     *
+     * @param money the money to record, not null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public void accept(@NonNull Money money) {
+        MoneyUtils.checkNotNull(money, "Money must not be null");
+        if (!currency.equals(money.getCurrencyUnit())) {
+            throw new CurrencyMismatchException(currency, money.getCurrencyUnit());
+        }
+        BigInteger unscaled = money.getAmount().unscaledValue();
+        if (unscaled.bitLength() <= 63) {
+            acceptMinor(unscaled.longValue());
+        } else {
+            count++;
+            carry = carry.add(unscaled);
+            updateBigMinMax(unscaled);
+            if (sketch != null) {
+                sketch.addOutOfRange(unscaled.signum());
+            }
+        }
+    }
+
+    /**
+     * Records an amount in minor units.
+     * <p>
+     * The amount is at the scale of the currency, as per {@link Money#getAmountMinorLong()}.
+     *
+     * @param amountMinor the amount to record in minor units
+     */
+    public void acceptMinor(long amountMinor) {
+        count++;
+        long result = sum + amountMinor;
+        if (((sum ^ result) & (amountMinor ^ result)) < 0) {
+            carry = carry.add(BigInteger.valueOf(sum));
+            sum = amountMinor;
+        } else {
+            sum = result;
+        }
+        if (amountMinor < minMinor) {
+            minMinor = amountMinor;
+        }
+        if (amountMinor > maxMinor) {
+            maxMinor = amountMinor;
+        }
+        if (sketch != null) {
+            sketch.add(amountMinor);
+        }
+    }
+
+    /**
+     * Combines the state of another statistics object into this one.
+     *
+     * @param other the other statistics, not null
+     * @throws CurrencyMismatchException if the currencies differ
+     * @throws IllegalArgumentException  if only one collects quantiles, or their accuracies differ
+     */
+    public void combine(@NonNull MoneySummaryStatistics other) {
+        MoneyUtils.checkNotNull(other, "MoneySummaryStatistics must not be null");
+        if (!currency.equals(other.currency)) {
+            throw new CurrencyMismatchException(currency, other.currency);
+        }
+        if ((sketch == null) != (other.sketch == null)) {
+            throw new IllegalArgumentException("Cannot combine statistics with and without quantiles");
+        }
+        if (sketch != null) {
+            sketch.merge(other.sketch);
+        }
+        count += other.count;
+        long result = sum + other.sum;
+        if (((sum ^ result) & (other.sum ^ result)) < 0) {
+            carry = carry.add(BigInteger.valueOf(sum));
+            sum = other.sum;
+        } else {
+            sum = result;
+        }
+        carry = carry.add(other.carry);
+        minMinor = Math.min(minMinor, other.minMinor);
+        maxMinor = Math.max(maxMinor, other.maxMinor);
+        if (other.min != null) {
+            updateBigMinMax(other.min);
+            updateBigMinMax(other.max);
+        }
+    }
+
+    private void updateBigMinMax(BigInteger unscaled) {
+        if (min == null || unscaled.compareTo(min) < 0) {
+            min = unscaled;
+        }
+        if (max == null || unscaled.compareTo(max) > 0) {
+            max = unscaled;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the currency.
+     *
+     * @return the currency, never null
+     */
+    @NonNull
+    public CurrencyUnit getCurrencyUnit() {
+        return currency;
+    }
+
+    /**
+     * Gets the number of values recorded.
+     *
+     * @return the count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Gets the exact sum of the values recorded.
+     *
+     * @return the sum, zero if none recorded, never null
+     */
+    @NonNull
+    public Money getSum() {
+        if (carry.signum() == 0) {
+            return Money.ofMinor(currency, sum);
+        }
+        return toMoney(carry.add(BigInteger.valueOf(sum)));
+    }
+
+    /**
+     * Gets the smallest value recorded.
+     *
+     * @return the minimum, never null
+     * @throws IllegalStateException if no values have been recorded
+     */
+    @NonNull
+    public Money getMin() {
+        checkNotEmpty();
+        if (min != null && (minMinor > maxMinor || min.compareTo(BigInteger.valueOf(minMinor)) < 0)) {
+            return toMoney(min);
+        }
+        return Money.ofMinor(currency, minMinor);
+    }
+
+    /**
+     * Gets the largest value recorded.
+     *
+     * @return the maximum, never null
+     * @throws IllegalStateException if no values have been recorded
+     */
+    @NonNull
+    public Money getMax() {
+        checkNotEmpty();
+        if (max != null && (minMinor > maxMinor || max.compareTo(BigInteger.valueOf(maxMinor)) > 0)) {
+            return toMoney(max);
+        }
+        return Money.ofMinor(currency, maxMinor);
+    }
+
+    /**
+     * Gets the arithmetic mean of the values recorded, rounded to the scale of the currency.
+     *
+     * @param roundingMode the rounding mode to use, not null
+     * @return the mean, never null
+     * @throws IllegalStateException if no values have been recorded
+     * @throws ArithmeticException   if the rounding fails
+     */
+    @NonNull
+    public Money getAverage(@NonNull RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        checkNotEmpty();
+        if (carry.signum() == 0) {
+            return Money.ofMinor(currency, MoneyMath.divideAndRound(sum, count, roundingMode));
+        }
+        return getSum().dividedBy(count, roundingMode);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Checks if quantiles are being collected.
+     *
+     * @return true if quantiles are available
+     */
+    public boolean hasQuantiles() {
+        return sketch != null;
+    }
+
+    /**
+     * Gets the relative accuracy of quantiles.
+     *
+     * @return the relative accuracy, zero if quantiles are not collected
+     */
+    public double getRelativeAccuracy() {
+        return (sketch != null ? sketch.getRelativeAccuracy() : 0);
+    }
+
+    /**
+     * Estimates a quantile of the values recorded.
+     * <p>
+     * For example, a quantile of 0.5 estimates the median and 0.99 the 99th percentile.
+     * The estimate is within the relative accuracy of the true amount, and always lies
+     * between the minimum and maximum.
+     *
+     * @param quantile the quantile, from zero to one
+     * @return the estimated amount, never null
+     * @throws IllegalStateException    if quantiles are not collected or no values have been recorded
+     * @throws IllegalArgumentException if the quantile is invalid
+     */
+    @NonNull
+    public Money getQuantile(double quantile) {
+        if (sketch == null) {
+            throw new IllegalStateException("Quantiles are not being collected");
+        }
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("Quantile must be from zero to one");
+        }
+        checkNotEmpty();
+        if (quantile == 0) {
+            return getMin();
+        }
+        if (quantile == 1) {
+            return getMax();
+        }
+        long estimate = sketch.getQuantileMinor(quantile);
+        if (min == null) {
+            return Money.ofMinor(currency, Math.max(minMinor, Math.min(maxMinor, estimate)));
+        }
+        Money result = Money.ofMinor(currency, estimate);
+        Money lowest = getMin();
+        Money highest = getMax();
+        return (result.isLessThan(lowest) ? lowest : (result.isGreaterThan(highest) ? highest : result));
+    }
+
+    //-----------------------------------------------------------------------
+
+    private void checkNotEmpty() {
+        if (count == 0) {
+            throw new IllegalStateException("No values have been recorded");
+        }
+    }
+
+    private Money toMoney(BigInteger amountMinor) {
+        return new Money(new BigMoney(currency, new BigDecimal(amountMinor, currency.getDecimalPlaces())));
+    }
+
+    /**
+     * Gets a string summary of the statistics.
+     *
+     * @return a string summarising the statistics, never null
+     */
+    @Override
+    public String toString() {
+        if (count == 0) {
+            return "MoneySummaryStatistics[" + currency + ", count=0]";
+        }
+        return "MoneySummaryStatistics[count=" + count + ", sum=" + getSum() +
+                ", min=" + getMin() + ", average=" + getAverage(RoundingMode.HALF_EVEN) + ", max=" + getMax() + "]";
+    }
+
+}
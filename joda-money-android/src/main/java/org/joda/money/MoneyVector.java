@@ -0,0 +1,525 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * An immutable sequence of amounts in a single currency, held as minor units.
+ * <p>
+ * Each amount is stored in a {@code long} at the scale of the currency, as per {@link Money}.
+ * Bulk operations work directly on the array of minor units, without creating an object
+ * per element. The results of each operation are identical to the equivalent operation
+ * on {@code Money}, other than that an {@code ArithmeticException} is thrown if an
+ * amount no longer fits in a {@code long}.
+ * <p>
+ * This class is immutable and thread-safe.
+ */
+public final class MoneyVector {
+
+    /**
+     * The powers of ten that fit in a long.
+     */
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        long value = 1;
+        for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = value;
+            value *= 10;
+        }
+    }
+
+    /**
+     * The currency.
+     */
+    private final CurrencyUnit currency;
+    /**
+     * The amounts in minor units, not shared.
+     */
+    private final long[] amounts;
+
+    /**
+     * Constructor, which does not copy the array.
+     *
+     * @param currency the currency, not null
+     * @param amounts  the amounts in minor units, not null
+     */
+    private MoneyVector(CurrencyUnit currency, long[] amounts) {
+        this.currency = currency;
+        this.amounts = amounts;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Obtains an instance from amounts in minor units.
+     *
+     * @param currency     the currency, not null
+     * @param amountsMinor the amounts in minor units, copied, not null
+     * @return the vector, never null
+     */
+    @NonNull
+    public static MoneyVector ofMinor(@NonNull CurrencyUnit currency, @NonNull long... amountsMinor) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(amountsMinor, "Amounts must not be null");
+        return new MoneyVector(currency, amountsMinor.clone());
+    }
+
+    /**
+     * Obtains an instance from a collection of {@code Money}.
+     *
+     * @param currency the currency of the amounts, not null
+     * @param monies   the amounts, no null elements, not null
+     * @return the vector, never null
+     * @throws CurrencyMismatchException if an amount is in a different currency
+     * @throws ArithmeticException       if an amount in minor units does not fit in a long
+     */
+    @NonNull
+    public static MoneyVector of(@NonNull CurrencyUnit currency, @NonNull Collection<Money> monies) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(monies, "Money collection must not be null");
+        long[] amounts = new long[monies.size()];
+        int i = 0;
+        for (Money money : monies) {
+            MoneyUtils.checkNotNull(money, "Money must not be null");
+            if (!currency.equals(money.getCurrencyUnit())) {
+                throw new CurrencyMismatchException(currency, money.getCurrencyUnit());
+            }
+            if (i == amounts.length) {
+                throw new IllegalArgumentException("Money collection changed size while being read");
+            }
+            amounts[i++] = money.getAmountMinorLong();
+        }
+        if (i != amounts.length) {
+            throw new IllegalArgumentException("Money collection changed size while being read");
+        }
+        return new MoneyVector(currency, amounts);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the currency.
+     *
+     * @return the currency, never null
+     */
+    @NonNull
+    public CurrencyUnit getCurrencyUnit() {
+        return currency;
+    }
+
+    /**
+     * Gets the number of amounts.
+     *
+     * @return the size
+     */
+    public int size() {
+        return amounts.length;
+    }
+
+    /**
+     * Gets an amount in minor units.
+     *
+     * @param index the index
+     * @return the amount in minor units
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public long getAmountMinorLong(int index) {
+        return amounts[index];
+    }
+
+    /**
+     * Gets an amount as {@code Money}.
+     *
+     * @param index the index
+     * @return the amount, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    @NonNull
+    public Money get(int index) {
+        return toMoney(amounts[index]);
+    }
+
+    /**
+     * Gets a copy of the amounts in minor units.
+     *
+     * @return the amounts, never null
+     */
+    @NonNull
+    public long[] toMinorArray() {
+        return amounts.clone();
+    }
+
+    /**
+     * Gets the amounts as an unmodifiable list of {@code Money}, created when accessed.
+     *
+     * @return the list view, never null
+     */
+    @NonNull
+    public List<Money> toMoneyList() {
+        return new AbstractList<Money>() {
+            @Override
+            public Money get(int index) {
+                return MoneyVector.this.get(index);
+            }
+
+            @Override
+            public int size() {
+                return amounts.length;
+            }
+        };
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Returns a vector with each amount added to the amount at the same index of another vector.
+     *
+     * @param other the vector to add, same size and currency, not null
+     * @return the new vector, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     * @throws IllegalArgumentException  if the sizes differ
+     * @throws ArithmeticException       if a result does not fit in a long
+     */
+    @NonNull
+    public MoneyVector plus(@NonNull MoneyVector other) {
+        long[] otherAmounts = checkCompatible(other);
+        long[] result = new long[amounts.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = MoneyMath.addExact(amounts[i], otherAmounts[i]);
+        }
+        return new MoneyVector(currency, result);
+    }
+
+    /**
+     * Returns a vector with an amount added to each amount.
+     *
+     * @param moneyToAdd the amount to add, same currency, not null
+     * @return the new vector, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     * @throws ArithmeticException       if a result does not fit in a long
+     */
+    @NonNull
+    public MoneyVector plus(@NonNull Money moneyToAdd) {
+        long amountToAdd = checkCompatible(moneyToAdd);
+        if (amountToAdd == 0) {
+            return this;
+        }
+        long[] result = new long[amounts.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = MoneyMath.addExact(amounts[i], amountToAdd);
+        }
+        return new MoneyVector(currency, result);
+    }
+
+    /**
+     * Returns a vector with each amount of another vector subtracted from the amount at the same index.
+     *
+     * @param other the vector to subtract, same size and currency, not null
+     * @return the new vector, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     * @throws IllegalArgumentException  if the sizes differ
+     * @throws ArithmeticException       if a result does not fit in a long
+     */
+    @NonNull
+    public MoneyVector minus(@NonNull MoneyVector other) {
+        long[] otherAmounts = checkCompatible(other);
+        long[] result = new long[amounts.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = MoneyMath.subtractExact(amounts[i], otherAmounts[i]);
+        }
+        return new MoneyVector(currency, result);
+    }
+
+    /**
+     * Returns a vector with an amount subtracted from each amount.
+     *
+     * @param moneyToSubtract the amount to subtract, same currency, not null
+     * @return the new vector, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     * @throws ArithmeticException       if a result does not fit in a long
+     */
+    @NonNull
+    public MoneyVector minus(@NonNull Money moneyToSubtract) {
+        long amountToSubtract = checkCompatible(moneyToSubtract);
+        if (amountToSubtract == 0) {
+            return this;
+        }
+        long[] result = new long[amounts.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = MoneyMath.subtractExact(amounts[i], amountToSubtract);
+        }
+        return new MoneyVector(currency, result);
+    }
+
+    /**
+     * Returns a vector with each amount multiplied by a value, rounding to the currency scale.
+     * <p>
+     * Each result is identical to {@link Money#multipliedBy(BigDecimal, RoundingMode)}.
+     * Where the multiplier and the products fit in a long, the calculation is performed
+     * in long arithmetic, otherwise {@code BigDecimal} is used for the affected amounts.
+     *
+     * @param valueToMultiplyBy the scalar value to multiply by, not null
+     * @param roundingMode      the rounding mode to use, not null
+     * @return the new vector, never null
+     * @throws ArithmeticException if the rounding fails or a result does not fit in a long
+     */
+    @NonNull
+    public MoneyVector multipliedBy(@NonNull BigDecimal valueToMultiplyBy, @NonNull RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(valueToMultiplyBy, "Multiplier must not be null");
+        MoneyUtils.checkNotNull(roundingMode, "RoundingMode must not be null");
+        if (valueToMultiplyBy.compareTo(BigDecimal.ONE) == 0) {
+            return this;
+        }
+        BigDecimal multiplier = (valueToMultiplyBy.scale() < 0 ? valueToMultiplyBy.setScale(0) : valueToMultiplyBy);
+        BigInteger unscaledMultiplier = multiplier.unscaledValue();
+        int multiplierScale = multiplier.scale();
+        boolean fast = unscaledMultiplier.bitLength() <= 63 && multiplierScale < POWERS_OF_TEN.length;
+        long mantissa = unscaledMultiplier.longValue();
+        long divisor = (fast ? POWERS_OF_TEN[multiplierScale] : 1);
+        long[] result = new long[amounts.length];
+        for (int i = 0; i < result.length; i++) {
+            long amount = amounts[i];
+            if (fast && !MoneyMath.isMultiplyOverflow(amount, mantissa)) {
+                result[i] = MoneyMath.divideAndRound(amount * mantissa, divisor, roundingMode);
+            } else {
+                result[i] = BigDecimal.valueOf(amount)
+                        .multiply(multiplier)
+                        .setScale(0, roundingMode)
+                        .longValueExact();
+            }
+        }
+        return new MoneyVector(currency, result);
+    }
+
+    /**
+     * Splits each amount into parts according to a set of ratios.
+     * <p>
+     * Each amount is split exactly as per {@link Money#allocate(long...)}.
+     * The result holds one vector per ratio, so that element {@code i} of each
+     * vector is a part of amount {@code i}, and the vectors add up to this vector.
+     *
+     * @param ratios the ratios to split by, not empty, not negative, at least one greater than zero
+     * @return the vectors of parts, one per ratio, never null
+     * @throws IllegalArgumentException if the ratios are invalid
+     */
+    @NonNull
+    public MoneyVector[] allocate(@NonNull long... ratios) {
+        MoneyMath.checkRatios(ratios);
+        long[][] parts = new long[ratios.length][amounts.length];
+        for (int i = 0; i < amounts.length; i++) {
+            long[] shares = MoneyMath.allocateMinor(amounts[i], ratios);
+            if (shares != null) {
+                for (int j = 0; j < ratios.length; j++) {
+                    parts[j][i] = shares[j];
+                }
+            } else {
+                BigInteger[] bigShares = MoneyMath.allocateMinor(BigInteger.valueOf(amounts[i]), ratios);
+                for (int j = 0; j < ratios.length; j++) {
+                    parts[j][i] = bigShares[j].longValue();
+                }
+            }
+        }
+        MoneyVector[] result = new MoneyVector[ratios.length];
+        for (int j = 0; j < ratios.length; j++) {
+            result[j] = new MoneyVector(currency, parts[j]);
+        }
+        return result;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the total of the amounts.
+     *
+     * @return the total, zero if empty, never null
+     */
+    @NonNull
+    public Money sum() {
+        long total = 0;
+        BigInteger bigTotal = null;
+        for (long amount : amounts) {
+            long result = total + amount;
+            if (((total ^ result) & (amount ^ result)) < 0) {
+                bigTotal = (bigTotal == null ? BigInteger.valueOf(total) : bigTotal.add(BigInteger.valueOf(total)));
+                total = amount;
+            } else {
+                total = result;
+            }
+        }
+        if (bigTotal != null) {
+            bigTotal = bigTotal.add(BigInteger.valueOf(total));
+            return new Money(new BigMoney(currency, new BigDecimal(bigTotal, currency.getDecimalPlaces())));
+        }
+        return toMoney(total);
+    }
+
+    /**
+     * Gets the smallest amount.
+     *
+     * @return the minimum, never null
+     * @throws IllegalStateException if the vector is empty
+     */
+    @NonNull
+    public Money min() {
+        checkNotEmpty();
+        long min = amounts[0];
+        for (long amount : amounts) {
+            if (amount < min) {
+                min = amount;
+            }
+        }
+        return toMoney(min);
+    }
+
+    /**
+     * Gets the largest amount.
+     *
+     * @return the maximum, never null
+     * @throws IllegalStateException if the vector is empty
+     */
+    @NonNull
+    public Money max() {
+        checkNotEmpty();
+        long max = amounts[0];
+        for (long amount : amounts) {
+            if (amount > max) {
+                max = amount;
+            }
+        }
+        return toMoney(max);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Checks each amount to see if it is greater than a threshold.
+     *
+     * @param threshold the threshold, same currency, not null
+     * @return a mask with true for each amount greater than the threshold, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    @NonNull
+    public boolean[] isGreaterThan(@NonNull Money threshold) {
+        long limit = checkCompatible(threshold);
+        boolean[] result = new boolean[amounts.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = amounts[i] > limit;
+        }
+        return result;
+    }
+
+    /**
+     * Checks each amount to see if it is less than a threshold.
+     *
+     * @param threshold the threshold, same currency, not null
+     * @return a mask with true for each amount less than the threshold, never null
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    @NonNull
+    public boolean[] isLessThan(@NonNull Money threshold) {
+        long limit = checkCompatible(threshold);
+        boolean[] result = new boolean[amounts.length];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = amounts[i] < limit;
+        }
+        return result;
+    }
+
+    /**
+     * Counts the amounts greater than a threshold.
+     *
+     * @param threshold the threshold, same currency, not null
+     * @return the number of amounts greater than the threshold
+     * @throws CurrencyMismatchException if the currencies differ
+     */
+    public int countGreaterThan(@NonNull Money threshold) {
+        long limit = checkCompatible(threshold);
+        int count = 0;
+        for (long amount : amounts) {
+            if (amount > limit) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    //-----------------------------------------------------------------------
+
+    private Money toMoney(long amountMinor) {
+        return new Money(new BigMoney(currency, BigDecimal.valueOf(amountMinor, currency.getDecimalPlaces())));
+    }
+
+    private long[] checkCompatible(MoneyVector other) {
+        MoneyUtils.checkNotNull(other, "MoneyVector must not be null");
+        if (!currency.equals(other.currency)) {
+            throw new CurrencyMismatchException(currency, other.currency);
+        }
+        if (amounts.length != other.amounts.length) {
+            throw new IllegalArgumentException("MoneyVector sizes differ: " + amounts.length + "/" + other.amounts.length);
+        }
+        return other.amounts;
+    }
+
+    private long checkCompatible(Money money) {
+        MoneyUtils.checkNotNull(money, "Money must not be null");
+        if (!currency.equals(money.getCurrencyUnit())) {
+            throw new CurrencyMismatchException(currency, money.getCurrencyUnit());
+        }
+        return money.getAmountMinorLong();
+    }
+
+    private void checkNotEmpty() {
+        if (amounts.length == 0) {
+            throw new IllegalStateException("MoneyVector must not be empty");
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Checks if this vector equals another vector.
+     *
+     * @param other the other object, null returns false
+     * @return true if the currency and amounts are equal
+     */
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (other instanceof MoneyVector) {
+            MoneyVector otherVector = (MoneyVector) other;
+            return currency.equals(otherVector.currency) && Arrays.equals(amounts, otherVector.amounts);
+        }
+        return false;
+    }
+
+    /**
+     * Returns a hash code for this vector.
+     *
+     * @return a suitable hash code
+     */
+    @Override
+    public int hashCode() {
+        return currency.hashCode() ^ Arrays.hashCode(amounts);
+    }
+
+    /**
+     * Gets a string summary of the vector.
+     *
+     * @return a string summarising the vector, never null
+     */
+    @Override
+    public String toString() {
+        return "MoneyVector[" + currency.getCode() + ", " + amounts.length + " amounts]";
+    }
+
+}
@@ -0,0 +1,214 @@
+package org.joda.money;
+
+import androidx.annotation.RequiresApi;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Sorts of primitive arrays used by the bulk classes.
+ * <p>
+ * This utility class contains thread-safe static methods.
+ */
+final class PrimitiveSorts {
+
+    /**
+     * The size below which an insertion sort is used.
+     */
+    private static final int INSERTION_THRESHOLD = 32;
+    /**
+     * The size below which a parallel sort runs sequentially.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 13;
+    /**
+     * The size below which a radix sort uses a merge sort instead.
+     */
+    private static final int RADIX_THRESHOLD = 1 << 10;
+
+    /**
+     * Private constructor.
+     */
+    private PrimitiveSorts() {
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Sorts an array of keys into ascending order, moving the values with their keys.
+     * <p>
+     * The sort is stable, so values with equal keys keep their relative order.
+     *
+     * @param keys   the keys to sort, not null
+     * @param values the values to move with the keys, same length as the keys, not null
+     */
+    static void sort(long[] keys, int[] values) {
+        int length = keys.length;
+        if (length > 1) {
+            sortRange(keys, values, new long[length], new int[length], 0, length);
+        }
+    }
+
+    /**
+     * Sorts an array of keys into ascending order using a fork-join pool,
+     * moving the values with their keys.
+     * <p>
+     * The result is identical to {@link #sort(long[], int[])}.
+     *
+     * @param keys   the keys to sort, not null
+     * @param values the values to move with the keys, same length as the keys, not null
+     * @param pool   the pool to sort in, not null
+     */
+    @RequiresApi(api = 21)
+    static void parallelSort(long[] keys, int[] values, ForkJoinPool pool) {
+        int length = keys.length;
+        if (length <= PARALLEL_THRESHOLD) {
+            sort(keys, values);
+        } else {
+            pool.invoke(new SortTask(keys, values, new long[length], new int[length], 0, length));
+        }
+    }
+
+    /**
+     * Sorts an array of keys into ascending order using a radix sort, moving the values with their keys.
+     * <p>
+     * This makes one pass to count the bytes of every key, then one stable pass per byte,
+     * skipping any byte that is the same in every key. Amounts of money usually differ only
+     * in their lower bytes, so most passes are skipped. The result is identical to
+     * {@link #sort(long[], int[])}.
+     *
+     * @param keys   the keys to sort, not null
+     * @param values the values to move with the keys, same length as the keys, not null
+     */
+    static void radixSort(long[] keys, int[] values) {
+        int length = keys.length;
+        if (length < RADIX_THRESHOLD) {
+            sort(keys, values);
+            return;
+        }
+        int[] counts = new int[8 * 256];
+        for (long key : keys) {
+            long unsigned = key ^ Long.MIN_VALUE;
+            for (int pass = 0; pass < 8; pass++) {
+                counts[(pass << 8) + (int) ((unsigned >>> (pass << 3)) & 0xFF)]++;
+            }
+        }
+        long[] sourceKeys = keys;
+        int[] sourceValues = values;
+        long[] targetKeys = new long[length];
+        int[] targetValues = new int[length];
+        for (int pass = 0; pass < 8; pass++) {
+            int base = pass << 8;
+            int shift = pass << 3;
+            if (counts[base + (int) (((sourceKeys[0] ^ Long.MIN_VALUE) >>> shift) & 0xFF)] == length) {
+                continue;
+            }
+            int offset = 0;
+            for (int i = base; i < base + 256; i++) {
+                int count = counts[i];
+                counts[i] = offset;
+                offset += count;
+            }
+            for (int i = 0; i < length; i++) {
+                long key = sourceKeys[i];
+                int target = counts[base + (int) (((key ^ Long.MIN_VALUE) >>> shift) & 0xFF)]++;
+                targetKeys[target] = key;
+                targetValues[target] = sourceValues[i];
+            }
+            long[] swapKeys = sourceKeys;
+            sourceKeys = targetKeys;
+            targetKeys = swapKeys;
+            int[] swapValues = sourceValues;
+            sourceValues = targetValues;
+            targetValues = swapValues;
+        }
+        if (sourceKeys != keys) {
+            System.arraycopy(sourceKeys, 0, keys, 0, length);
+            System.arraycopy(sourceValues, 0, values, 0, length);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    private static void sortRange(long[] keys, int[] values, long[] tempKeys, int[] tempValues, int from, int to) {
+        if (to - from <= INSERTION_THRESHOLD) {
+            insertionSort(keys, values, from, to);
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        sortRange(keys, values, tempKeys, tempValues, from, mid);
+        sortRange(keys, values, tempKeys, tempValues, mid, to);
+        merge(keys, values, tempKeys, tempValues, from, mid, to);
+    }
+
+    private static void insertionSort(long[] keys, int[] values, int from, int to) {
+        for (int i = from + 1; i < to; i++) {
+            long key = keys[i];
+            int value = values[i];
+            int j = i - 1;
+            while (j >= from && keys[j] > key) {
+                keys[j + 1] = keys[j];
+                values[j + 1] = values[j];
+                j--;
+            }
+            keys[j + 1] = key;
+            values[j + 1] = value;
+        }
+    }
+
+    private static void merge(long[] keys, int[] values, long[] tempKeys, int[] tempValues, int from, int mid, int to) {
+        if (keys[mid - 1] <= keys[mid]) {
+            return;
+        }
+        System.arraycopy(keys, from, tempKeys, from, to - from);
+        System.arraycopy(values, from, tempValues, from, to - from);
+        int left = from;
+        int right = mid;
+        for (int i = from; i < to; i++) {
+            if (right >= to || (left < mid && tempKeys[left] <= tempKeys[right])) {
+                keys[i] = tempKeys[left];
+                values[i] = tempValues[left++];
+            } else {
+                keys[i] = tempKeys[right];
+                values[i] = tempValues[right++];
+            }
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Task sorting one range in a fork-join pool.
+     */
+    @RequiresApi(api = 21)
+    private static final class SortTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final long[] keys;
+        private final int[] values;
+        private final long[] tempKeys;
+        private final int[] tempValues;
+        private final int from;
+        private final int to;
+
+        SortTask(long[] keys, int[] values, long[] tempKeys, int[] tempValues, int from, int to) {
+            this.keys = keys;
+            this.values = values;
+            this.tempKeys = tempKeys;
+            this.tempValues = tempValues;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                sortRange(keys, values, tempKeys, tempValues, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new SortTask(keys, values, tempKeys, tempValues, from, mid),
+                    new SortTask(keys, values, tempKeys, tempValues, mid, to));
+            merge(keys, values, tempKeys, tempValues, from, mid, to);
+        }
+    }
+
+}
@@ -0,0 +1,357 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+
+import java.util.Arrays;
+
+/**
+ * A ledger of postings in one currency that answers running balances without re-adding history.
+ * <p>
+ * Each posting is stored as a {@code long} of minor units in arrays of fixed-size chunks,
+ * so appending never copies the existing postings. Alongside the postings, the ledger keeps
+ * a Fenwick tree of partial sums, updated on every append and correction. The balance as of
+ * any posting, and the sum of any range of postings, is then found in O(log n) time,
+ * rather than by adding every {@code Money} from the start of the history.
+ * <p>
+ * Postings are indexed from zero in the order they were appended. A posting may be corrected
+ * in place, which updates every later balance. The ledger rejects postings that would let the
+ * total of the absolute amounts exceed a long, which guarantees that no balance overflows.
+ * <p>
+ * This class is mutable and intended for use by a single thread.
+ */
+public final class RunningBalanceLedger {
+
+    /**
+     * The number of bits of an index within a chunk.
+     */
+    private static final int CHUNK_SHIFT = 10;
+    /**
+     * The number of postings in a chunk.
+     */
+    private static final int CHUNK_SIZE = 1 << CHUNK_SHIFT;
+    /**
+     * The mask of an index within a chunk.
+     */
+    private static final int CHUNK_MASK = CHUNK_SIZE - 1;
+
+    /**
+     * The currency.
+     */
+    private final CurrencyUnit currency;
+    /**
+     * The postings in minor units, by chunk.
+     */
+    private long[][] postings = new long[4][];
+    /**
+     * The nodes of the Fenwick tree by chunk, node {@code i} stored at index {@code i - 1}.
+     */
+    private long[][] tree = new long[4][];
+    /**
+     * The number of postings.
+     */
+    private int size;
+    /**
+     * The total of the absolute amounts of the postings.
+     */
+    private long absoluteTotal;
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Constructor, creating an empty ledger.
+     *
+     * @param currency the currency, not null
+     */
+    public RunningBalanceLedger(@NonNull CurrencyUnit currency) {
+        MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+        this.currency = currency;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the currency.
+     *
+     * @return the currency, never null
+     */
+    @NonNull
+    public CurrencyUnit getCurrencyUnit() {
+        return currency;
+    }
+
+    /**
+     * Gets the number of postings.
+     *
+     * @return the number of postings
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Gets a posting.
+     *
+     * @param index the index of the posting
+     * @return the posting, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    @NonNull
+    public Money get(int index) {
+        return Money.ofMinor(currency, getMinor(index));
+    }
+
+    /**
+     * Gets a posting in minor units.
+     *
+     * @param index the index of the posting
+     * @return the posting in minor units
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public long getMinor(int index) {
+        checkIndex(index);
+        return postings[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Appends a posting.
+     *
+     * @param posting the posting to append, not null
+     * @return the index of the posting
+     * @throws CurrencyMismatchException if the currencies differ
+     * @throws ArithmeticException       if the ledger would exceed the range of a long
+     */
+    public int append(@NonNull Money posting) {
+        return appendMinor(minorOf(posting));
+    }
+
+    /**
+     * Appends a posting in minor units.
+     * <p>
+     * The amount is at the scale of the currency, as per {@link Money#getAmountMinorLong()}.
+     *
+     * @param postingMinor the posting to append in minor units
+     * @return the index of the posting
+     * @throws ArithmeticException if the ledger would exceed the range of a long
+     */
+    public int appendMinor(long postingMinor) {
+        absoluteTotal = addAbsolute(absoluteTotal, postingMinor);
+        int index = size;
+        int chunk = index >>> CHUNK_SHIFT;
+        if (chunk == postings.length) {
+            postings = Arrays.copyOf(postings, chunk * 2);
+            tree = Arrays.copyOf(tree, chunk * 2);
+        }
+        if (postings[chunk] == null) {
+            postings[chunk] = new long[CHUNK_SIZE];
+            tree[chunk] = new long[CHUNK_SIZE];
+        }
+        postings[chunk][index & CHUNK_MASK] = postingMinor;
+        // node i covers the postings after i - lowbit(i), so sum the nodes of its children
+        int node = index + 1;
+        int start = node - (node & -node);
+        long sum = postingMinor;
+        for (int child = node - 1; child > start; child -= child & -child) {
+            sum += node(child);
+        }
+        tree[chunk][index & CHUNK_MASK] = sum;
+        size++;
+        return index;
+    }
+
+    /**
+     * Appends an array of postings in minor units.
+     *
+     * @param postingsMinor the postings to append in minor units, not null
+     * @throws ArithmeticException if the ledger would exceed the range of a long,
+     *                             in which case the postings before the failure are appended
+     */
+    public void appendMinor(@NonNull long[] postingsMinor) {
+        MoneyUtils.checkNotNull(postingsMinor, "Postings must not be null");
+        for (long posting : postingsMinor) {
+            appendMinor(posting);
+        }
+    }
+
+    /**
+     * Corrects a posting in place, updating every later balance.
+     *
+     * @param index   the index of the posting
+     * @param posting the corrected posting, not null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws CurrencyMismatchException if the currencies differ
+     * @throws ArithmeticException       if the ledger would exceed the range of a long
+     */
+    public void set(int index, @NonNull Money posting) {
+        setMinor(index, minorOf(posting));
+    }
+
+    /**
+     * Corrects a posting in minor units in place, updating every later balance.
+     *
+     * @param index        the index of the posting
+     * @param postingMinor the corrected posting in minor units
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws ArithmeticException       if the ledger would exceed the range of a long
+     */
+    public void setMinor(int index, long postingMinor) {
+        long old = getMinor(index);
+        absoluteTotal = addAbsolute(absoluteTotal - Math.abs(old), postingMinor);
+        postings[index >>> CHUNK_SHIFT][index & CHUNK_MASK] = postingMinor;
+        long delta = postingMinor - old;
+        for (int node = index + 1; node > 0 && node <= size; node += node & -node) {
+            tree[(node - 1) >>> CHUNK_SHIFT][(node - 1) & CHUNK_MASK] += delta;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the balance as of a posting, which is the sum of that posting and all before it.
+     *
+     * @param index the index of the posting
+     * @return the balance, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    @NonNull
+    public Money getBalance(int index) {
+        return Money.ofMinor(currency, getBalanceMinor(index));
+    }
+
+    /**
+     * Gets the balance in minor units as of a posting, which is the sum of that posting and all before it.
+     *
+     * @param index the index of the posting
+     * @return the balance in minor units
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    public long getBalanceMinor(int index) {
+        checkIndex(index);
+        return prefix(index + 1);
+    }
+
+    /**
+     * Gets the balances in minor units as of each posting in a range.
+     * <p>
+     * This finds the balance before the range once, then adds each posting,
+     * which suits showing one page of an account history.
+     *
+     * @param fromIndex the index of the first posting, inclusive
+     * @param toIndex   the index of the last posting, exclusive
+     * @return the balances, of length {@code toIndex - fromIndex}, never null
+     * @throws IndexOutOfBoundsException if the range is invalid
+     */
+    @NonNull
+    public long[] getBalancesMinor(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        long[] result = new long[toIndex - fromIndex];
+        long balance = prefix(fromIndex);
+        for (int i = 0; i < result.length; i++) {
+            int index = fromIndex + i;
+            balance += postings[index >>> CHUNK_SHIFT][index & CHUNK_MASK];
+            result[i] = balance;
+        }
+        return result;
+    }
+
+    /**
+     * Gets the sum of the postings in a range.
+     *
+     * @param fromIndex the index of the first posting, inclusive
+     * @param toIndex   the index of the last posting, exclusive
+     * @return the sum, zero if the range is empty, never null
+     * @throws IndexOutOfBoundsException if the range is invalid
+     */
+    @NonNull
+    public Money sum(int fromIndex, int toIndex) {
+        return Money.ofMinor(currency, sumMinor(fromIndex, toIndex));
+    }
+
+    /**
+     * Gets the sum in minor units of the postings in a range.
+     *
+     * @param fromIndex the index of the first posting, inclusive
+     * @param toIndex   the index of the last posting, exclusive
+     * @return the sum in minor units, zero if the range is empty
+     * @throws IndexOutOfBoundsException if the range is invalid
+     */
+    public long sumMinor(int fromIndex, int toIndex) {
+        checkRange(fromIndex, toIndex);
+        return prefix(toIndex) - prefix(fromIndex);
+    }
+
+    /**
+     * Gets the balance after all the postings.
+     *
+     * @return the total, zero if there are no postings, never null
+     */
+    @NonNull
+    public Money getTotal() {
+        return Money.ofMinor(currency, prefix(size));
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the sum of the first postings.
+     *
+     * @param count the number of postings to sum
+     * @return the sum in minor units
+     */
+    private long prefix(int count) {
+        long sum = 0;
+        for (int node = count; node > 0; node -= node & -node) {
+            sum += node(node);
+        }
+        return sum;
+    }
+
+    private long node(int node) {
+        return tree[(node - 1) >>> CHUNK_SHIFT][(node - 1) & CHUNK_MASK];
+    }
+
+    private long minorOf(Money posting) {
+        MoneyUtils.checkNotNull(posting, "Money must not be null");
+        if (!currency.equals(posting.getCurrencyUnit())) {
+            throw new CurrencyMismatchException(currency, posting.getCurrencyUnit());
+        }
+        return posting.getAmountMinorLong();
+    }
+
+    private static long addAbsolute(long total, long postingMinor) {
+        if (postingMinor == Long.MIN_VALUE) {
+            throw new ArithmeticException("Ledger exceeds the range of a long");
+        }
+        long result = total + Math.abs(postingMinor);
+        if (result < 0) {
+            throw new ArithmeticException("Ledger exceeds the range of a long");
+        }
+        return result;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Invalid index: " + index);
+        }
+    }
+
+    private void checkRange(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("Invalid range: " + fromIndex + " to " + toIndex);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets a string summary of the ledger.
+     *
+     * @return a string summarising the ledger, never null
+     */
+    @Override
+    public String toString() {
+        return "RunningBalanceLedger[size=" + size + ", total=" + getTotal() + "]";
+    }
+
+}
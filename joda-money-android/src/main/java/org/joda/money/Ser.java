@@ -32,6 +32,11 @@ import java.math.BigInteger;
  */
 final class Ser implements Externalizable {
 
+    /**
+     * Serialization version, fixed to the value computed for the original format
+     * so that streams written before the compact format was added can still be read.
+     */
+    private static final long serialVersionUID = 8203304640493492124L;
     /**
      * Type for BigMoney.
      */
@@ -44,6 +49,18 @@ final class Ser implements Externalizable {
      * Type for CurrencyUnit.
      */
     static final byte CURRENCY_UNIT = 'C';  // not in use yet
+    /**
+     * Type for BigMoney in the compact format.
+     */
+    static final byte BIG_MONEY_COMPACT = 'b';
+    /**
+     * Type for Money in the compact format.
+     */
+    static final byte MONEY_COMPACT = 'm';
+    /**
+     * Type for CurrencyUnit in the compact format.
+     */
+    static final byte CURRENCY_UNIT_COMPACT = 'c';
 
     /**
      * The type.
@@ -75,6 +92,13 @@ final class Ser implements Externalizable {
 
     /**
      * Outputs the data.
+     * <p>
+     * The compact format is always written. The currency is written as a varint of
+     * the numeric code plus one, or zero followed by the code if the numeric code
+     * does not identify the currency. The amount is written as a varint of the scale
+     * shifted left by one, with the low bit set if the unscaled value does not fit in
+     * a long. This is followed by the unscaled value as a zig-zag varint, or as a varint
+     * length and the bytes of the {@code BigInteger}.
      *
      * @param out the output stream
      * @throws IOException if an error occurs
@@ -82,39 +106,60 @@ final class Ser implements Externalizable {
      */
     @Override
     public void writeExternal(ObjectOutput out) throws IOException {
-        out.writeByte(type);
         switch (type) {
-            case BIG_MONEY: {
+            case BIG_MONEY:
+            case BIG_MONEY_COMPACT: {
                 BigMoney obj = (BigMoney) object;
-                writeBigMoney(out, obj);
+                out.writeByte(BIG_MONEY_COMPACT);
+                writeBigMoneyCompact(out, obj);
                 return;
             }
-            case MONEY: {
+            case MONEY:
+            case MONEY_COMPACT: {
                 Money obj = (Money) object;
-                writeBigMoney(out, obj.toBigMoney());
+                out.writeByte(MONEY_COMPACT);
+                writeBigMoneyCompact(out, obj.toBigMoney());
                 return;
             }
-            case CURRENCY_UNIT: {
+            case CURRENCY_UNIT:
+            case CURRENCY_UNIT_COMPACT: {
                 CurrencyUnit obj = (CurrencyUnit) object;
-                writeCurrency(out, obj);
+                out.writeByte(CURRENCY_UNIT_COMPACT);
+                writeCurrencyCompact(out, obj);
                 return;
             }
         }
         throw new InvalidClassException("Joda-Money bug: Serialization broken");
     }
 
-    private void writeBigMoney(ObjectOutput out, BigMoney obj) throws IOException {
-        writeCurrency(out, obj.getCurrencyUnit());
-        byte[] bytes = obj.getAmount().unscaledValue().toByteArray();
-        out.writeInt(bytes.length);
-        out.write(bytes);
-        out.writeInt(obj.getScale());
+    private void writeBigMoneyCompact(ObjectOutput out, BigMoney obj) throws IOException {
+        writeCurrencyCompact(out, obj.getCurrencyUnit());
+        BigDecimal amount = obj.getAmount();
+        BigInteger unscaled = amount.unscaledValue();
+        long scale = amount.scale();
+        if (unscaled.bitLength() <= 63) {
+            writeVarLong(out, scale << 1);
+            writeVarLong(out, VarLongs.zigZag(unscaled.longValue()));
+        } else {
+            writeVarLong(out, (scale << 1) | 1);
+            byte[] bytes = unscaled.toByteArray();
+            writeVarLong(out, bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private void writeCurrencyCompact(ObjectOutput out, CurrencyUnit obj) throws IOException {
+        int numericCode = obj.getNumericCode();
+        if (numericCode >= 0 && CurrencyUnit.numericCodeIdentifies(obj)) {
+            writeVarLong(out, numericCode + 1);
+        } else {
+            writeVarLong(out, 0);
+            out.writeUTF(obj.getCode());
+        }
     }
 
-    private void writeCurrency(ObjectOutput out, CurrencyUnit obj) throws IOException {
-        out.writeUTF(obj.getCode());
-        out.writeShort(obj.getNumericCode());
-        out.writeShort(obj.getDecimalPlaces());
+    private static void writeVarLong(ObjectOutput out, long value) throws IOException {
+        VarLongs.writeVarLong(out::writeByte, value);
     }
 
     /**
@@ -139,6 +184,18 @@ final class Ser implements Externalizable {
                 object = readCurrency(in);
                 return;
             }
+            case BIG_MONEY_COMPACT: {
+                object = readBigMoneyCompact(in);
+                return;
+            }
+            case MONEY_COMPACT: {
+                object = new Money(readBigMoneyCompact(in));
+                return;
+            }
+            case CURRENCY_UNIT_COMPACT: {
+                object = readCurrencyCompact(in);
+                return;
+            }
         }
         throw new StreamCorruptedException("Serialization input has invalid type");
     }
@@ -163,6 +220,47 @@ final class Ser implements Externalizable {
         return singletonCurrency;
     }
 
+    private BigMoney readBigMoneyCompact(ObjectInput in) throws IOException {
+        CurrencyUnit currency = readCurrencyCompact(in);
+        long header = readVarLong(in);
+        long scale = header >>> 1;
+        if (scale > Integer.MAX_VALUE) {
+            throw new StreamCorruptedException("Serialization input has invalid scale");
+        }
+        BigDecimal bd;
+        if ((header & 1) == 0) {
+            bd = BigDecimal.valueOf(VarLongs.unZigZag(readVarLong(in)), (int) scale);
+        } else {
+            long length = readVarLong(in);
+            if (length <= 0 || length > Integer.MAX_VALUE) {
+                throw new StreamCorruptedException("Serialization input has invalid amount length");
+            }
+            byte[] bytes = new byte[(int) length];
+            in.readFully(bytes);
+            bd = new BigDecimal(new BigInteger(bytes), (int) scale);
+        }
+        return new BigMoney(currency, bd);
+    }
+
+    private CurrencyUnit readCurrencyCompact(ObjectInput in) throws IOException {
+        long numericCode = readVarLong(in) - 1;
+        if (numericCode < 0) {
+            return CurrencyUnit.of(in.readUTF());
+        }
+        if (numericCode > 999) {
+            throw new StreamCorruptedException("Serialization input has invalid numeric code");
+        }
+        return CurrencyUnit.ofNumericCode((int) numericCode);
+    }
+
+    private static long readVarLong(ObjectInput in) throws IOException {
+        try {
+            return VarLongs.readVarLong(in::readByte);
+        } catch (IllegalArgumentException ex) {
+            throw new StreamCorruptedException("Serialization input has invalid varint");
+        }
+    }
+
     /**
      * Returns the object that will replace this one.
      *
@@ -0,0 +1,227 @@
+package org.joda.money;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Converts between currencies using cross rates derived from the rates of a base currency.
+ * <p>
+ * The rates are supplied as a vector, giving the amount of each currency that one unit of
+ * the base currency buys. Each time the rates are updated, the cross rate of every pair is
+ * calculated once, as the target rate divided by the source rate, and stored in a
+ * {@link ConversionRateTable}. Rates from the base currency are used exactly, while other
+ * cross rates are rounded using the {@code MathContext} of the converter. Looking up or
+ * converting with a cross rate is then a read of the precomputed matrix.
+ * <p>
+ * An update replaces the table atomically, so a conversion always uses a consistent set of rates.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class TriangulatingConverter implements ExchangeRateProvider {
+
+    /**
+     * The default context used to calculate cross rates.
+     */
+    public static final MathContext DEFAULT_MATH_CONTEXT = MathContext.DECIMAL64;
+
+    /**
+     * The base currency.
+     */
+    private final CurrencyUnit baseCurrency;
+    /**
+     * The context used to calculate cross rates.
+     */
+    private final MathContext mathContext;
+    /**
+     * The current table of cross rates.
+     */
+    private volatile ConversionRateTable table;
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Constructor using the default context, with no rates.
+     *
+     * @param baseCurrency the base currency, not null
+     */
+    public TriangulatingConverter(@NonNull CurrencyUnit baseCurrency) {
+        this(baseCurrency, DEFAULT_MATH_CONTEXT);
+    }
+
+    /**
+     * Constructor, with no rates.
+     *
+     * @param baseCurrency the base currency, not null
+     * @param mathContext  the context used to calculate cross rates, not null
+     * @throws IllegalArgumentException if the context has unlimited precision
+     */
+    public TriangulatingConverter(@NonNull CurrencyUnit baseCurrency, @NonNull MathContext mathContext) {
+        MoneyUtils.checkNotNull(baseCurrency, "Base CurrencyUnit must not be null");
+        MoneyUtils.checkNotNull(mathContext, "MathContext must not be null");
+        if (mathContext.getPrecision() == 0) {
+            throw new IllegalArgumentException("MathContext must have a limited precision");
+        }
+        this.baseCurrency = baseCurrency;
+        this.mathContext = mathContext;
+        this.table = new ConversionRateTable.Builder().build();
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the base currency.
+     *
+     * @return the base currency, never null
+     */
+    @NonNull
+    public CurrencyUnit getBaseCurrency() {
+        return baseCurrency;
+    }
+
+    /**
+     * Gets the context used to calculate cross rates.
+     *
+     * @return the context, never null
+     */
+    @NonNull
+    public MathContext getMathContext() {
+        return mathContext;
+    }
+
+    /**
+     * Gets the current table of cross rates.
+     * <p>
+     * The table is a snapshot that is unaffected by later updates, and may be used
+     * directly to convert in bulk.
+     *
+     * @return the table, never null
+     */
+    @NonNull
+    public ConversionRateTable getTable() {
+        return table;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Replaces the rates, recalculating the cross rate of every pair.
+     * <p>
+     * Each rate is the amount of the currency that one unit of the base currency buys.
+     * The rate of the base currency itself is always one and need not be included.
+     *
+     * @param baseRates the rates by currency, not null, no null keys or values
+     * @throws IllegalArgumentException if a rate is not positive, or if the rate of the
+     *                                  base currency is not one
+     */
+    public void update(@NonNull Map<CurrencyUnit, BigDecimal> baseRates) {
+        MoneyUtils.checkNotNull(baseRates, "Rates must not be null");
+        Map<CurrencyUnit, BigDecimal> rates = new LinkedHashMap<>();
+        rates.put(baseCurrency, BigDecimal.ONE);
+        for (Map.Entry<CurrencyUnit, BigDecimal> entry : baseRates.entrySet()) {
+            CurrencyUnit currency = entry.getKey();
+            BigDecimal rate = entry.getValue();
+            MoneyUtils.checkNotNull(currency, "CurrencyUnit must not be null");
+            MoneyUtils.checkNotNull(rate, "Rate must not be null");
+            if (rate.signum() <= 0) {
+                throw new IllegalArgumentException("Rate must be greater than zero: " + currency);
+            }
+            if (currency.equals(baseCurrency)) {
+                if (rate.compareTo(BigDecimal.ONE) != 0) {
+                    throw new IllegalArgumentException("Rate of the base currency must be one");
+                }
+                continue;
+            }
+            rates.put(currency, rate);
+        }
+        ConversionRateTable.Builder builder = new ConversionRateTable.Builder();
+        for (Map.Entry<CurrencyUnit, BigDecimal> source : rates.entrySet()) {
+            for (Map.Entry<CurrencyUnit, BigDecimal> target : rates.entrySet()) {
+                if (source.getKey().equals(target.getKey())) {
+                    continue;
+                }
+                BigDecimal crossRate;
+                if (source.getKey().equals(baseCurrency)) {
+                    crossRate = target.getValue();
+                } else {
+                    crossRate = target.getValue().divide(source.getValue(), mathContext).stripTrailingZeros();
+                }
+                builder.addRate(source.getKey(), target.getKey(), crossRate);
+            }
+        }
+        table = builder.build();
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the cross rate used to convert from one currency to another.
+     *
+     * @param source the currency to convert from, not null
+     * @param target the currency to convert to, not null
+     * @return the rate, one if the currencies are the same, null if either currency has no rate
+     */
+    @Override
+    @Nullable
+    public BigDecimal getRate(@NonNull CurrencyUnit source, @NonNull CurrencyUnit target) {
+        return table.getRate(source, target);
+    }
+
+    /**
+     * Converts a monetary value to another currency using the cross rate.
+     *
+     * @param money        the money to convert, not null
+     * @param target       the currency to convert to, not null
+     * @param roundingMode the rounding mode to use, not null
+     * @return the converted money, never null
+     * @throws IllegalArgumentException if either currency has no rate
+     * @throws ArithmeticException      if the rounding fails
+     * @see ConversionRateTable#convert(Money, CurrencyUnit, RoundingMode)
+     */
+    @NonNull
+    public Money convert(@NonNull Money money, @NonNull CurrencyUnit target, @NonNull RoundingMode roundingMode) {
+        return table.convert(money, target, roundingMode);
+    }
+
+    /**
+     * Converts a monetary value to each of several currencies using the cross rates.
+     * <p>
+     * All the conversions use the same set of rates, even if the rates are updated concurrently.
+     *
+     * @param money        the money to convert, not null
+     * @param targets      the currencies to convert to, not null, no null elements
+     * @param roundingMode the rounding mode to use, not null
+     * @return the converted money, in the order of the currencies, never null
+     * @throws IllegalArgumentException if any currency has no rate
+     * @throws ArithmeticException      if the rounding fails
+     */
+    @NonNull
+    public List<Money> convertToEach(@NonNull Money money, @NonNull Collection<CurrencyUnit> targets, @NonNull RoundingMode roundingMode) {
+        MoneyUtils.checkNotNull(targets, "Target currencies must not be null");
+        ConversionRateTable snapshot = table;
+        List<Money> result = new ArrayList<>(targets.size());
+        for (CurrencyUnit target : targets) {
+            result.add(snapshot.convert(money, target, roundingMode));
+        }
+        return result;
+    }
+
+    /**
+     * Gets a string summary of the converter.
+     *
+     * @return a string summarising the converter, never null
+     */
+    @Override
+    public String toString() {
+        return "TriangulatingConverter[" + baseCurrency + ", " + table + "]";
+    }
+
+}
@@ -0,0 +1,105 @@
+package org.joda.money;
+
+/**
+ * Reads and writes longs in a variable-length form.
+ * <p>
+ * This is shared by the compact serialized form and {@link MoneyCodec}, so the two cannot differ.
+ * A varint holds seven bits in each byte, least significant first, with the high bit set in
+ * every byte except the last. Signed values are zig-zag encoded first, so that amounts of
+ * either sign close to zero are short.
+ * <p>
+ * This utility class contains thread-safe static methods.
+ */
+final class VarLongs {
+
+    /**
+     * The maximum size of a varint in bytes.
+     */
+    static final int MAX_SIZE = 10;
+
+    /**
+     * Private constructor.
+     */
+    private VarLongs() {
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * A destination of bytes.
+     *
+     * @param <X> the type of exception thrown on failure
+     */
+    interface ByteSink<X extends Exception> {
+        void writeByte(int value) throws X;
+    }
+
+    /**
+     * A source of bytes.
+     *
+     * @param <X> the type of exception thrown on failure
+     */
+    interface ByteSource<X extends Exception> {
+        byte readByte() throws X;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Writes a varint.
+     *
+     * @param <X>   the type of exception thrown by the sink
+     * @param sink  the sink to write to, not null
+     * @param value the value, treated as unsigned
+     * @throws X if the sink fails
+     */
+    static <X extends Exception> void writeVarLong(ByteSink<X> sink, long value) throws X {
+        while ((value & ~0x7FL) != 0) {
+            sink.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        sink.writeByte((int) value);
+    }
+
+    /**
+     * Reads a varint.
+     *
+     * @param <X>    the type of exception thrown by the source
+     * @param source the source to read from, not null
+     * @return the value, treated as unsigned
+     * @throws X                        if the source fails
+     * @throws IllegalArgumentException if the varint is longer than {@link #MAX_SIZE}
+     */
+    static <X extends Exception> long readVarLong(ByteSource<X> source) throws X {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = source.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Encoded varint is invalid");
+    }
+
+    /**
+     * Zig-zag encodes a signed value.
+     *
+     * @param value the signed value
+     * @return the encoded value, small when the signed value is close to zero
+     */
+    static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Decodes a zig-zag encoded value.
+     *
+     * @param encoded the encoded value
+     * @return the signed value
+     */
+    static long unZigZag(long encoded) {
+        return (encoded >>> 1) ^ -(encoded & 1);
+    }
+
+}
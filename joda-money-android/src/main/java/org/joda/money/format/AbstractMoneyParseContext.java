@@ -274,6 +274,23 @@ abstract class AbstractMoneyParseContext<T> {
         setAmount(child.getAmount());
     }
 
+    /**
+     * Resets this context so that it can be reused to parse another text.
+     * <p>
+     * The locale is retained, while the index, error index, currency and amount
+     * are cleared.
+     *
+     * @param text  the text to parse, not null
+     * @param index the start index
+     */
+    void reset(@NonNull CharSequence text, int index) {
+        this.text = text;
+        this.textIndex = index;
+        this.textErrorIndex = -1;
+        this.currency = null;
+        this.amount = null;
+    }
+
     //-----------------------------------------------------------------------
 
     /**
@@ -0,0 +1,273 @@
+package org.joda.money.format;
+
+import androidx.annotation.NonNull;
+
+import org.joda.money.BigMoney;
+import org.joda.money.BigMoneyProvider;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Prints monetary values using a formatter, caching the text of each distinct value.
+ * <p>
+ * This is intended for applications that repeatedly print the same set of values,
+ * such as a catalogue of prices. The cache is keyed by currency, unscaled amount and
+ * scale, so a value that is already cached is printed without running the printers of
+ * the formatter or converting the amount to a string.
+ * <p>
+ * The cache is bounded. When it reaches the maximum size, a quarter of the entries is
+ * evicted using the clock algorithm: each entry is marked when it is printed, and the
+ * eviction sweep clears the mark of a marked entry and evicts an unmarked one. Values that
+ * are printed often therefore stay cached, while values printed once are evicted first.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class MemoizingMoneyFormatter {
+
+    /**
+     * The default maximum number of cached values.
+     */
+    public static final int DEFAULT_MAX_SIZE = 4096;
+
+    /**
+     * The formatter to print with.
+     */
+    private final MoneyFormatter formatter;
+    /**
+     * The maximum number of cached values.
+     */
+    private final int maxSize;
+    /**
+     * The cached text, keyed by the value printed.
+     */
+    private final ConcurrentMap<BigMoney, Entry> cache;
+    /**
+     * The number of cache hits.
+     */
+    private final AtomicLong hitCount = new AtomicLong();
+    /**
+     * The number of cache misses.
+     */
+    private final AtomicLong missCount = new AtomicLong();
+    /**
+     * The number of evicted values.
+     */
+    private final AtomicLong evictionCount = new AtomicLong();
+    /**
+     * The position in the cache at which the next eviction sweep starts.
+     */
+    private int hand;
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Constructor using the default maximum size.
+     *
+     * @param formatter the formatter to print with, not null
+     * @throws UnsupportedOperationException if the formatter cannot print
+     */
+    public MemoizingMoneyFormatter(@NonNull MoneyFormatter formatter) {
+        this(formatter, DEFAULT_MAX_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param formatter the formatter to print with, not null
+     * @param maxSize   the maximum number of cached values, greater than zero
+     * @throws UnsupportedOperationException if the formatter cannot print
+     * @throws IllegalArgumentException      if the maximum size is invalid
+     */
+    public MemoizingMoneyFormatter(@NonNull MoneyFormatter formatter, int maxSize) {
+        MoneyFormatter.checkNotNull(formatter, "MoneyFormatter must not be null");
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be greater than zero");
+        }
+        if (!formatter.isPrinter()) {
+            throw new UnsupportedOperationException("MoneyFormatter has not been configured to be able to print");
+        }
+        this.formatter = formatter;
+        this.maxSize = maxSize;
+        this.cache = new ConcurrentHashMap<>(Math.min(maxSize, 1024));
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the formatter used to print values that are not cached.
+     *
+     * @return the formatter, never null
+     */
+    @NonNull
+    public MoneyFormatter getFormatter() {
+        return formatter;
+    }
+
+    /**
+     * Gets the maximum number of cached values.
+     *
+     * @return the maximum size
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Prints a monetary value to a {@code String}, using the cache where possible.
+     * <p>
+     * The result is identical to {@link MoneyFormatter#print(BigMoneyProvider)}.
+     *
+     * @param moneyProvider the money to print, not null
+     * @return the string printed using the settings of the formatter
+     * @throws MoneyFormatException if there is a problem while printing
+     */
+    @NonNull
+    public String print(@NonNull BigMoneyProvider moneyProvider) {
+        BigMoney money = BigMoney.of(moneyProvider);
+        Entry entry = cache.get(money);
+        if (entry != null) {
+            hitCount.incrementAndGet();
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            return entry.text;
+        }
+        missCount.incrementAndGet();
+        String text = formatter.print(money);
+        if (cache.size() >= maxSize) {
+            evict();
+        }
+        Entry existing = cache.putIfAbsent(money, new Entry(text));
+        return (existing != null ? existing.text : text);
+    }
+
+    /**
+     * Prints a monetary value to an {@code Appendable}, using the cache where possible.
+     *
+     * @param appendable    the appendable to add to, not null
+     * @param moneyProvider the money to print, not null
+     * @throws MoneyFormatException if there is a problem while printing
+     */
+    public void print(@NonNull Appendable appendable, @NonNull BigMoneyProvider moneyProvider) {
+        MoneyFormatter.checkNotNull(appendable, "Appendable must not be null");
+        String text = print(moneyProvider);
+        try {
+            appendable.append(text);
+        } catch (IOException ex) {
+            throw new MoneyFormatException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Evicts a quarter of the cached values, giving a second chance to those printed since they were last swept.
+     * <p>
+     * The sweep continues from where the previous one stopped. After passing every entry twice,
+     * entries are evicted even if marked, so that concurrent printing cannot prolong the sweep.
+     */
+    private synchronized void evict() {
+        int target = maxSize - Math.max(1, maxSize / 4);
+        Iterator<Entry> it = cache.values().iterator();
+        int position = 0;
+        while (position < hand && it.hasNext()) {
+            it.next();
+            position++;
+        }
+        int wraps = 0;
+        while (cache.size() > target) {
+            if (!it.hasNext()) {
+                it = cache.values().iterator();
+                position = 0;
+                if (++wraps > 2 || !it.hasNext()) {
+                    break;
+                }
+            }
+            Entry entry = it.next();
+            position++;
+            if (entry.referenced && wraps < 2) {
+                entry.referenced = false;
+            } else {
+                it.remove();
+                position--;
+                evictionCount.incrementAndGet();
+            }
+        }
+        hand = position;
+    }
+
+    /**
+     * A cached text, with the mark used by the clock algorithm.
+     */
+    private static final class Entry {
+        private final String text;
+        private volatile boolean referenced;
+
+        Entry(String text) {
+            this.text = text;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the number of values currently cached.
+     *
+     * @return the number of cached values
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * Gets the number of prints answered from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hitCount.get();
+    }
+
+    /**
+     * Gets the number of prints that had to use the formatter.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return missCount.get();
+    }
+
+    /**
+     * Gets the number of values evicted from the cache.
+     *
+     * @return the number of evictions
+     */
+    public long getEvictionCount() {
+        return evictionCount.get();
+    }
+
+    /**
+     * Removes all cached values, leaving the counters unchanged.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets a string summary of the cache.
+     *
+     * @return a string summarising the cache, never null
+     */
+    @Override
+    public String toString() {
+        return "MemoizingMoneyFormatter[" + formatter + ", size=" + size() +
+                ", hits=" + getHitCount() + ", misses=" + getMissCount() + "]";
+    }
+
+}
@@ -0,0 +1,181 @@
+package org.joda.money.format;
+
+import androidx.annotation.NonNull;
+
+import org.joda.money.BigMoney;
+import org.joda.money.CurrencyUnit;
+import org.joda.money.Money;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The result of a bulk parse, held in columns.
+ * <p>
+ * Each parsed record is stored as a currency ordinal, an unscaled amount and a scale.
+ * The currency ordinal is an index into {@link #getCurrencies()}.
+ * Monetary values are only created when requested.
+ * <p>
+ * Records that could not be parsed are not stored in the columns, but the byte offset
+ * of the start of each such record is available from {@link #getErrorOffsets()}.
+ * <p>
+ * This class is immutable and thread-safe provided the arrays it returns are not modified.
+ */
+public final class MoneyBulkParseResult {
+
+    /**
+     * The currencies indexed by ordinal.
+     */
+    private final CurrencyUnit[] currencies;
+    /**
+     * The currency ordinal of each record.
+     */
+    private final int[] currencyOrdinals;
+    /**
+     * The unscaled amount of each record.
+     */
+    private final long[] unscaledAmounts;
+    /**
+     * The scale of each record.
+     */
+    private final int[] scales;
+    /**
+     * The byte offsets of the records that could not be parsed.
+     */
+    private final long[] errorOffsets;
+
+    /**
+     * Constructor.
+     *
+     * @param currencies       the currencies indexed by ordinal, not null
+     * @param currencyOrdinals the currency ordinals, not null
+     * @param unscaledAmounts  the unscaled amounts, same length as the ordinals, not null
+     * @param scales           the scales, same length as the ordinals, not null
+     * @param errorOffsets     the byte offsets of malformed records, not null
+     */
+    MoneyBulkParseResult(
+            @NonNull CurrencyUnit[] currencies,
+            @NonNull int[] currencyOrdinals,
+            @NonNull long[] unscaledAmounts,
+            @NonNull int[] scales,
+            @NonNull long[] errorOffsets) {
+        this.currencies = currencies;
+        this.currencyOrdinals = currencyOrdinals;
+        this.unscaledAmounts = unscaledAmounts;
+        this.scales = scales;
+        this.errorOffsets = errorOffsets;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the number of successfully parsed records.
+     *
+     * @return the number of records
+     */
+    public int size() {
+        return currencyOrdinals.length;
+    }
+
+    /**
+     * Gets the currencies that the ordinals refer to.
+     *
+     * @return the currencies indexed by ordinal, never null
+     */
+    @NonNull
+    public List<CurrencyUnit> getCurrencies() {
+        return Arrays.asList(currencies);
+    }
+
+    /**
+     * Gets the currency ordinal column.
+     *
+     * @return the currency ordinal of each record, not to be modified, never null
+     */
+    @NonNull
+    public int[] getCurrencyOrdinals() {
+        return currencyOrdinals;
+    }
+
+    /**
+     * Gets the unscaled amount column.
+     *
+     * @return the unscaled amount of each record, not to be modified, never null
+     */
+    @NonNull
+    public long[] getUnscaledAmounts() {
+        return unscaledAmounts;
+    }
+
+    /**
+     * Gets the scale column.
+     *
+     * @return the scale of each record, not to be modified, never null
+     */
+    @NonNull
+    public int[] getScales() {
+        return scales;
+    }
+
+    /**
+     * Gets the byte offsets of the records that could not be parsed.
+     *
+     * @return the offsets in ascending order, not to be modified, never null
+     */
+    @NonNull
+    public long[] getErrorOffsets() {
+        return errorOffsets;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the currency of a record.
+     *
+     * @param index the record index
+     * @return the currency, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    @NonNull
+    public CurrencyUnit getCurrency(int index) {
+        return currencies[currencyOrdinals[index]];
+    }
+
+    /**
+     * Gets a record as a {@code BigMoney}.
+     *
+     * @param index the record index
+     * @return the monetary value, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     */
+    @NonNull
+    public BigMoney getBigMoney(int index) {
+        return BigMoney.ofScale(getCurrency(index), unscaledAmounts[index], scales[index]);
+    }
+
+    /**
+     * Gets a record as a {@code Money}.
+     *
+     * @param index the record index
+     * @return the monetary value, never null
+     * @throws IndexOutOfBoundsException if the index is invalid
+     * @throws ArithmeticException       if the scale exceeds the currency scale
+     */
+    @NonNull
+    public Money getMoney(int index) {
+        return getBigMoney(index).toMoney();
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets a string summary of the result.
+     *
+     * @return a string summarising the result, never null
+     */
+    @Override
+    public String toString() {
+        return "MoneyBulkParseResult[" + size() + " records, " + errorOffsets.length + " errors]";
+    }
+
+}
@@ -0,0 +1,367 @@
+package org.joda.money.format;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.RequiresApi;
+
+import org.joda.money.CurrencyUnit;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Parses large files of monetary records in parallel.
+ * <p>
+ * The file must contain one record per line, encoded in UTF-8, with each record
+ * fully parsable by the formatter. Blank lines are skipped.
+ * <p>
+ * The file is memory-mapped and split into chunks aligned to line boundaries.
+ * The chunks are parsed on a fork/join pool, with each worker thread reusing a
+ * single parse context and decoder. The result is returned in columns, avoiding
+ * an object per record, see {@link MoneyBulkParseResult}.
+ * <p>
+ * A record is treated as malformed if it cannot be parsed, if its currency was registered
+ * after the parse started, or if its unscaled amount does not fit in a {@code long}.
+ * <p>
+ * This class is thread-safe.
+ */
+public final class MoneyBulkParser {
+
+    /**
+     * The default chunk size in bytes.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+    /**
+     * The charset of the records.
+     */
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    /**
+     * The size of the buffer used to find a line boundary.
+     */
+    private static final int BOUNDARY_SCAN_SIZE = 4096;
+
+    /**
+     * The formatter to parse each record with.
+     */
+    private final MoneyFormatter formatter;
+    /**
+     * The pool to parse the chunks on.
+     */
+    private final ForkJoinPool pool;
+    /**
+     * The nominal chunk size in bytes.
+     */
+    private final int chunkSize;
+    /**
+     * The per-thread parsing state.
+     */
+    private final ThreadLocal<Worker> workers = new ThreadLocal<Worker>() {
+        @Override
+        protected Worker initialValue() {
+            return new Worker(formatter);
+        }
+    };
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Constructor using the common pool and the default chunk size.
+     *
+     * @param formatter the formatter to parse each record with, not null
+     * @throws UnsupportedOperationException if the formatter cannot parse
+     */
+    @RequiresApi(api = 24)
+    public MoneyBulkParser(@NonNull MoneyFormatter formatter) {
+        this(formatter, ForkJoinPool.commonPool(), DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param formatter the formatter to parse each record with, not null
+     * @param pool      the pool to parse the chunks on, not null
+     * @param chunkSize the nominal chunk size in bytes, greater than zero
+     * @throws UnsupportedOperationException if the formatter cannot parse
+     * @throws IllegalArgumentException      if the chunk size is invalid
+     */
+    @RequiresApi(api = 21)
+    public MoneyBulkParser(@NonNull MoneyFormatter formatter, @NonNull ForkJoinPool pool, int chunkSize) {
+        MoneyFormatter.checkNotNull(formatter, "MoneyFormatter must not be null");
+        MoneyFormatter.checkNotNull(pool, "ForkJoinPool must not be null");
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("Chunk size must be greater than zero");
+        }
+        if (!formatter.isParser()) {
+            throw new UnsupportedOperationException("MoneyFomatter has not been configured to be able to parse");
+        }
+        this.formatter = formatter;
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Parses all the records in a file.
+     *
+     * @param path the file to parse, not null
+     * @return the parsed records, never null
+     * @throws IOException          if an IO error occurs
+     * @throws MoneyFormatException if a single record is too large to be mapped
+     */
+    @RequiresApi(api = 26)
+    @NonNull
+    public MoneyBulkParseResult parse(@NonNull Path path) throws IOException {
+        MoneyFormatter.checkNotNull(path, "Path must not be null");
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return parse(channel);
+        }
+    }
+
+    /**
+     * Parses all the records in a file channel, from the start to the current size.
+     * <p>
+     * The channel is not closed, and its position is not changed.
+     *
+     * @param channel the channel to parse, not null
+     * @return the parsed records, never null
+     * @throws IOException          if an IO error occurs
+     * @throws MoneyFormatException if a single record is too large to be mapped
+     */
+    @RequiresApi(api = 21)
+    @NonNull
+    public MoneyBulkParseResult parse(@NonNull FileChannel channel) throws IOException {
+        MoneyFormatter.checkNotNull(channel, "FileChannel must not be null");
+        List<CurrencyUnit> registered = CurrencyUnit.registeredCurrencies();
+        CurrencyUnit[] currencies = registered.toArray(new CurrencyUnit[0]);
+        Map<CurrencyUnit, Integer> ordinals = new HashMap<>();
+        for (int i = 0; i < currencies.length; i++) {
+            ordinals.put(currencies[i], i);
+        }
+
+        long size = channel.size();
+        List<ChunkTask> tasks = new ArrayList<>();
+        long start = 0;
+        while (start < size) {
+            long end = (size - start <= chunkSize ? size : findLineEnd(channel, start + chunkSize - 1, size));
+            if (end - start > Integer.MAX_VALUE) {
+                throw new MoneyFormatException("Record too large to parse at offset " + start);
+            }
+            ByteBuffer bytes = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            tasks.add(new ChunkTask(bytes, start, ordinals));
+            start = end;
+        }
+        for (ChunkTask task : tasks) {
+            pool.execute(task);
+        }
+
+        Chunk[] chunks = new Chunk[tasks.size()];
+        int total = 0;
+        int totalErrors = 0;
+        for (int i = 0; i < chunks.length; i++) {
+            chunks[i] = tasks.get(i).join();
+            total += chunks[i].size;
+            totalErrors += chunks[i].errorCount;
+        }
+        int[] currencyOrdinals = new int[total];
+        long[] unscaledAmounts = new long[total];
+        int[] scales = new int[total];
+        long[] errorOffsets = new long[totalErrors];
+        int pos = 0;
+        int errorPos = 0;
+        for (Chunk chunk : chunks) {
+            System.arraycopy(chunk.currencyOrdinals, 0, currencyOrdinals, pos, chunk.size);
+            System.arraycopy(chunk.unscaledAmounts, 0, unscaledAmounts, pos, chunk.size);
+            System.arraycopy(chunk.scales, 0, scales, pos, chunk.size);
+            System.arraycopy(chunk.errorOffsets, 0, errorOffsets, errorPos, chunk.errorCount);
+            pos += chunk.size;
+            errorPos += chunk.errorCount;
+        }
+        return new MoneyBulkParseResult(currencies, currencyOrdinals, unscaledAmounts, scales, errorOffsets);
+    }
+
+    /**
+     * Finds the offset just after the first line terminator at or after the specified offset.
+     *
+     * @param channel the channel to search, not null
+     * @param from    the offset to search from
+     * @param size    the size of the channel
+     * @return the offset after the terminator, or the size if there is none
+     * @throws IOException if an IO error occurs
+     */
+    private static long findLineEnd(FileChannel channel, long from, long size) throws IOException {
+        ByteBuffer buf = ByteBuffer.allocate(BOUNDARY_SCAN_SIZE);
+        long pos = from;
+        while (pos < size) {
+            buf.clear();
+            int read = channel.read(buf, pos);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                byte b = buf.get(i);
+                if (b == '\n' || b == '\r') {
+                    return pos + i + 1;
+                }
+            }
+            pos += read;
+        }
+        return size;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * The reusable per-thread parsing state.
+     */
+    private static final class Worker {
+        private final MoneyFormatter formatter;
+        private final AbstractMoneyParseContext<?> context;
+        private final CharsetDecoder decoder;
+        private CharBuffer chars = CharBuffer.allocate(256);
+
+        Worker(MoneyFormatter formatter) {
+            this.formatter = formatter;
+            this.context = formatter.createParseContext(chars);
+            this.decoder = UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        }
+
+        /**
+         * Parses a chunk of bytes, which must start and end on line boundaries.
+         */
+        Chunk parse(ByteBuffer bytes, long baseOffset, Map<CurrencyUnit, Integer> ordinals) {
+            Chunk chunk = new Chunk(Math.max(16, bytes.limit() / 16));
+            ByteBuffer line = bytes.duplicate();
+            int limit = bytes.limit();
+            int lineStart = 0;
+            for (int i = 0; i <= limit; i++) {
+                if (i < limit) {
+                    byte b = bytes.get(i);
+                    if (b != '\n' && b != '\r') {
+                        continue;
+                    }
+                }
+                if (i > lineStart) {
+                    line.limit(i).position(lineStart);
+                    if (!parseLine(line, ordinals, chunk)) {
+                        chunk.addError(baseOffset + lineStart);
+                    }
+                }
+                lineStart = i + 1;
+            }
+            return chunk;
+        }
+
+        /**
+         * Parses a single line, returning false if it is malformed.
+         */
+        private boolean parseLine(ByteBuffer line, Map<CurrencyUnit, Integer> ordinals, Chunk chunk) {
+            if (chars.capacity() < line.remaining()) {
+                chars = CharBuffer.allocate(Math.max(line.remaining(), chars.capacity() * 2));
+            }
+            chars.clear();
+            decoder.reset();
+            decoder.decode(line, chars, true);
+            decoder.flush(chars);
+            chars.flip();
+
+            context.reset(chars, 0);
+            formatter.parseInto(context);
+            if (context.isError() || !context.isFullyParsed() || !context.isComplete()) {
+                return false;
+            }
+            Integer ordinal = ordinals.get(context.getCurrency());
+            if (ordinal == null) {
+                return false;
+            }
+            BigDecimal amount = context.getAmount();
+            if (amount.scale() < 0) {
+                amount = amount.setScale(0, RoundingMode.UNNECESSARY);
+            }
+            BigInteger unscaled = amount.unscaledValue();
+            if (unscaled.bitLength() > 63) {
+                return false;
+            }
+            chunk.add(ordinal, unscaled.longValue(), amount.scale());
+            return true;
+        }
+    }
+
+    /**
+     * Parses one chunk on a worker thread.
+     */
+    private final class ChunkTask extends RecursiveTask<Chunk> {
+        private static final long serialVersionUID = 1L;
+        private final transient ByteBuffer bytes;
+        private final long baseOffset;
+        private final transient Map<CurrencyUnit, Integer> ordinals;
+
+        ChunkTask(ByteBuffer bytes, long baseOffset, Map<CurrencyUnit, Integer> ordinals) {
+            this.bytes = bytes;
+            this.baseOffset = baseOffset;
+            this.ordinals = ordinals;
+        }
+
+        @Override
+        protected Chunk compute() {
+            return workers.get().parse(bytes, baseOffset, ordinals);
+        }
+    }
+
+    /**
+     * The growable columns of one chunk.
+     */
+    private static final class Chunk {
+        int[] currencyOrdinals;
+        long[] unscaledAmounts;
+        int[] scales;
+        int size;
+        long[] errorOffsets = new long[4];
+        int errorCount;
+
+        Chunk(int capacity) {
+            currencyOrdinals = new int[capacity];
+            unscaledAmounts = new long[capacity];
+            scales = new int[capacity];
+        }
+
+        void add(int ordinal, long unscaled, int scale) {
+            if (size == currencyOrdinals.length) {
+                int capacity = size * 2;
+                currencyOrdinals = Arrays.copyOf(currencyOrdinals, capacity);
+                unscaledAmounts = Arrays.copyOf(unscaledAmounts, capacity);
+                scales = Arrays.copyOf(scales, capacity);
+            }
+            currencyOrdinals[size] = ordinal;
+            unscaledAmounts[size] = unscaled;
+            scales[size] = scale;
+            size++;
+        }
+
+        void addError(long offset) {
+            if (errorCount == errorOffsets.length) {
+                errorOffsets = Arrays.copyOf(errorOffsets, errorCount * 2);
+            }
+            errorOffsets[errorCount++] = offset;
+        }
+    }
+
+}
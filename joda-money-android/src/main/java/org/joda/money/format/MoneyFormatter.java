@@ -28,7 +28,9 @@ import org.joda.money.Money;
 
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.LinkedHashMap;
 import java.util.Locale;
+import java.util.Map;
 
 import wonton.jodamoney.BuildConfig;
 
@@ -46,6 +48,22 @@ public final class MoneyFormatter implements Serializable {
      * Serialization version.
      */
     private static final long serialVersionUID = 2385346258L;
+    /**
+     * The maximum number of formatters held by the pattern cache.
+     */
+    private static final int PATTERN_CACHE_SIZE = 128;
+    /**
+     * The cache of formatters created from patterns, least recently used first.
+     */
+    private static final Map<PatternKey, MoneyFormatter> PATTERN_CACHE =
+            new LinkedHashMap<PatternKey, MoneyFormatter>(16, 0.75f, true) {
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<PatternKey, MoneyFormatter> eldest) {
+                    return size() > PATTERN_CACHE_SIZE;
+                }
+            };
 
     /**
      * The locale to use.
@@ -147,6 +165,93 @@ public final class MoneyFormatter implements Serializable {
 
     //-----------------------------------------------------------------------
 
+    /**
+     * Obtains a formatter for a pattern, such as {@code "${code}' '${amount}"}.
+     * <p>
+     * The pattern syntax is described by {@link MoneyFormatterBuilder#appendPattern(String)}
+     * and matches the output of {@link #toString()}.
+     * <p>
+     * Compiled formatters are held in a bounded cache keyed by pattern and locale,
+     * so repeated calls return the same shared instance.
+     *
+     * @param pattern the pattern, not null
+     * @param locale  the locale to use, not null
+     * @return the formatter, never null
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    @NonNull
+    public static MoneyFormatter ofPattern(@NonNull String pattern, @NonNull Locale locale) {
+        checkNotNull(pattern, "Pattern must not be null");
+        checkNotNull(locale, "Locale must not be null");
+        PatternKey key = new PatternKey(pattern, locale);
+        MoneyFormatter cached = getCachedPattern(key);
+        if (cached != null) {
+            return cached;
+        }
+        return cachePattern(key, new MoneyFormatterBuilder().appendPattern(pattern).toFormatter(locale));
+    }
+
+    /**
+     * Obtains a formatter for a pattern, such as {@code "${code}' '${amount}"}.
+     * <p>
+     * The pattern syntax is described by {@link MoneyFormatterBuilder#appendPattern(String)}
+     * and matches the output of {@link #toString()}.
+     * <p>
+     * Compiled formatters are held in a bounded cache keyed by pattern and locale,
+     * so repeated calls return the same shared instance.
+     *
+     * @param pattern the pattern, not null
+     * @param locale  the locale to use, not null
+     * @return the formatter, never null
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    @RequiresApi(api = 24)
+    @NonNull
+    public static MoneyFormatter ofPattern(@NonNull String pattern, @NonNull ULocale locale) {
+        checkNotNull(pattern, "Pattern must not be null");
+        checkNotNull(locale, "Locale must not be null");
+        PatternKey key = new PatternKey(pattern, locale);
+        MoneyFormatter cached = getCachedPattern(key);
+        if (cached != null) {
+            return cached;
+        }
+        return cachePattern(key, new MoneyFormatterBuilder().appendPattern(pattern).toFormatter(locale));
+    }
+
+    /**
+     * Gets a formatter from the pattern cache.
+     *
+     * @param key the cache key, not null
+     * @return the cached formatter, null if not cached
+     */
+    @Nullable
+    private static MoneyFormatter getCachedPattern(@NonNull PatternKey key) {
+        synchronized (PATTERN_CACHE) {
+            return PATTERN_CACHE.get(key);
+        }
+    }
+
+    /**
+     * Adds a formatter to the pattern cache, keeping any formatter added concurrently.
+     *
+     * @param key       the cache key, not null
+     * @param formatter the newly compiled formatter, not null
+     * @return the shared formatter, never null
+     */
+    @NonNull
+    private static MoneyFormatter cachePattern(@NonNull PatternKey key, @NonNull MoneyFormatter formatter) {
+        synchronized (PATTERN_CACHE) {
+            MoneyFormatter existing = PATTERN_CACHE.get(key);
+            if (existing != null) {
+                return existing;
+            }
+            PATTERN_CACHE.put(key, formatter);
+            return formatter;
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
     /**
      * Gets the printer/parser.
      *
@@ -428,6 +533,42 @@ public final class MoneyFormatter implements Serializable {
 
     //-----------------------------------------------------------------------
 
+    /**
+     * Creates a parse context suitable for this formatter that can be reused
+     * by calling {@link AbstractMoneyParseContext#reset(CharSequence, int)}.
+     * <p>
+     * The ICU context is used from API 24, matching {@link #parseBigMoney(CharSequence)}.
+     *
+     * @param text the initial text to parse, not null
+     * @return the new context, never null
+     * @throws UnsupportedOperationException if this formatter cannot parse
+     */
+    @NonNull
+    AbstractMoneyParseContext<?> createParseContext(@NonNull CharSequence text) {
+        if (!isParser()) {
+            throw new UnsupportedOperationException("MoneyFomatter has not been configured to be able to parse");
+        }
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N) {
+            return new ICUMoneyParseContext(uLocale != null ? uLocale : ULocale.forLocale(locale), text, 0);
+        }
+        return new MoneyParseContext(locale, text, 0);
+    }
+
+    /**
+     * Parses into a context previously created by {@link #createParseContext(CharSequence)}.
+     *
+     * @param context the context to parse into, not null
+     */
+    void parseInto(@NonNull AbstractMoneyParseContext<?> context) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.N && context instanceof ICUMoneyParseContext) {
+            printerParser.parse((ICUMoneyParseContext) context);
+        } else {
+            printerParser.parse((MoneyParseContext) context);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
     /**
      * Gets a string summary of the formatter.
      *
@@ -438,4 +579,36 @@ public final class MoneyFormatter implements Serializable {
         return printerParser.toString();
     }
 
+    //-----------------------------------------------------------------------
+
+    /**
+     * The key of the pattern cache.
+     */
+    private static final class PatternKey {
+        private final String pattern;
+        private final Object locale;
+
+        PatternKey(String pattern, Object locale) {
+            this.pattern = pattern;
+            this.locale = locale;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (other == this) {
+                return true;
+            }
+            if (other instanceof PatternKey) {
+                PatternKey otherKey = (PatternKey) other;
+                return pattern.equals(otherKey.pattern) && locale.equals(otherKey.locale);
+            }
+            return false;
+        }
+
+        @Override
+        public int hashCode() {
+            return pattern.hashCode() * 31 + locale.hashCode();
+        }
+    }
+
 }
@@ -179,6 +179,96 @@ public final class MoneyFormatterBuilder {
         return appendInternal(pp, pp);
     }
 
+    /**
+     * Appends the elements described by a pattern to the builder.
+     * <p>
+     * The pattern uses the same tokens as {@link MoneyFormatter#toString()}:
+     * <ul>
+     * <li>{@code ${code}} - the currency code, see {@link #appendCurrencyCode()}</li>
+     * <li>{@code ${numericCode}} - the numeric code, see {@link #appendCurrencyNumericCode()}</li>
+     * <li>{@code ${numeric3Code}} - the 3 digit numeric code, see {@link #appendCurrencyNumeric3Code()}</li>
+     * <li>{@code ${symbolLocalized}} - the localized symbol, see {@link #appendCurrencySymbolLocalized()}</li>
+     * <li>{@code ${amount}} - the amount, see {@link #appendAmount()}</li>
+     * </ul>
+     * Text enclosed in single quotes is a literal, with two single quotes representing
+     * a quote within the literal. Any other text outside a token is also a literal.
+     * For example, the pattern {@code "${code}' '${amount}"} prints 'GBP 12.34'.
+     *
+     * @param pattern the pattern to append, not null
+     * @return this, for chaining, never null
+     * @throws IllegalArgumentException if the pattern is invalid
+     */
+    @NonNull
+    public MoneyFormatterBuilder appendPattern(@NonNull String pattern) {
+        MoneyFormatter.checkNotNull(pattern, "Pattern must not be null");
+        StringBuilder literal = new StringBuilder();
+        int pos = 0;
+        while (pos < pattern.length()) {
+            char ch = pattern.charAt(pos);
+            if (ch == '\'') {
+                pos++;
+                while (true) {
+                    if (pos >= pattern.length()) {
+                        throw new IllegalArgumentException("Pattern has unclosed quote: " + pattern);
+                    }
+                    char quoted = pattern.charAt(pos++);
+                    if (quoted == '\'') {
+                        if (pos < pattern.length() && pattern.charAt(pos) == '\'') {
+                            literal.append('\'');
+                            pos++;
+                        } else {
+                            break;
+                        }
+                    } else {
+                        literal.append(quoted);
+                    }
+                }
+            } else if (ch == '$' && pattern.startsWith("${", pos)) {
+                int end = pattern.indexOf('}', pos);
+                if (end < 0) {
+                    throw new IllegalArgumentException("Pattern has unclosed token: " + pattern);
+                }
+                appendLiteral(literal);
+                literal.setLength(0);
+                appendPatternToken(pattern.substring(pos + 2, end), pattern);
+                pos = end + 1;
+            } else {
+                literal.append(ch);
+                pos++;
+            }
+        }
+        return appendLiteral(literal);
+    }
+
+    /**
+     * Appends a single pattern token.
+     *
+     * @param token   the token name, not null
+     * @param pattern the whole pattern, for error messages, not null
+     * @throws IllegalArgumentException if the token is unknown
+     */
+    private void appendPatternToken(String token, String pattern) {
+        switch (token) {
+            case "code":
+                appendCurrencyCode();
+                break;
+            case "numericCode":
+                appendCurrencyNumericCode();
+                break;
+            case "numeric3Code":
+                appendCurrencyNumeric3Code();
+                break;
+            case "symbolLocalized":
+                appendCurrencySymbolLocalized();
+                break;
+            case "amount":
+                appendAmount();
+                break;
+            default:
+                throw new IllegalArgumentException("Pattern has unknown token '${" + token + "}': " + pattern);
+        }
+    }
+
     //-----------------------------------------------------------------------
 
     /**
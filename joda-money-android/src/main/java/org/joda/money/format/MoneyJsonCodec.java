@@ -0,0 +1,394 @@
+package org.joda.money.format;
+
+import androidx.annotation.NonNull;
+
+import org.joda.money.BigMoney;
+import org.joda.money.BigMoneyProvider;
+import org.joda.money.CurrencyUnit;
+import org.joda.money.IllegalCurrencyException;
+import org.joda.money.Money;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+
+/**
+ * Writes and reads monetary values as JSON objects.
+ * <p>
+ * Two forms are written. The standard form holds the amount as a string,
+ * such as <code>{"currency":"USD","amount":"12.34"}</code>, which preserves the scale in
+ * any JSON reader. The numeric form holds the amount as a number, such as
+ * <code>{"currency":"USD","amount":12.34}</code>.
+ * <p>
+ * The amount is written digit by digit from the unscaled value, without creating
+ * intermediate strings, unless the unscaled value does not fit in a long.
+ * Both forms are read, with the fields in either order and optional whitespace.
+ * Reading looks up the currency without creating a string and allocates only the
+ * result, unless the amount has an exponent or does not fit in a long.
+ * <p>
+ * This utility class contains thread-safe static methods.
+ */
+public final class MoneyJsonCodec {
+
+    /**
+     * The powers of ten that fit in a long.
+     */
+    private static final long[] POWERS_OF_TEN = new long[19];
+
+    static {
+        long value = 1;
+        for (int i = 0; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = value;
+            value *= 10;
+        }
+    }
+
+    /**
+     * Private constructor.
+     */
+    private MoneyJsonCodec() {
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Writes a monetary value in the standard form, with the amount as a string.
+     *
+     * @param appendable    the appendable to add to, not null
+     * @param moneyProvider the money to write, not null
+     * @throws IOException if an IO error occurs
+     */
+    public static void write(@NonNull Appendable appendable, @NonNull BigMoneyProvider moneyProvider) throws IOException {
+        MoneyFormatter.checkNotNull(appendable, "Appendable must not be null");
+        writeJson(appendable, null, BigMoney.of(moneyProvider), true);
+    }
+
+    /**
+     * Writes a monetary value in the numeric form, with the amount as a number.
+     *
+     * @param appendable    the appendable to add to, not null
+     * @param moneyProvider the money to write, not null
+     * @throws IOException if an IO error occurs
+     */
+    public static void writeNumeric(@NonNull Appendable appendable, @NonNull BigMoneyProvider moneyProvider) throws IOException {
+        MoneyFormatter.checkNotNull(appendable, "Appendable must not be null");
+        writeJson(appendable, null, BigMoney.of(moneyProvider), false);
+    }
+
+    /**
+     * Writes a monetary value in the standard form as ASCII bytes at the position of the buffer.
+     *
+     * @param buffer        the buffer to write to, not null
+     * @param moneyProvider the money to write, not null
+     * @throws java.nio.BufferOverflowException if the buffer has insufficient space
+     */
+    public static void write(@NonNull ByteBuffer buffer, @NonNull BigMoneyProvider moneyProvider) {
+        MoneyFormatter.checkNotNull(buffer, "ByteBuffer must not be null");
+        writeBuffer(buffer, BigMoney.of(moneyProvider), true);
+    }
+
+    /**
+     * Writes a monetary value in the numeric form as ASCII bytes at the position of the buffer.
+     *
+     * @param buffer        the buffer to write to, not null
+     * @param moneyProvider the money to write, not null
+     * @throws java.nio.BufferOverflowException if the buffer has insufficient space
+     */
+    public static void writeNumeric(@NonNull ByteBuffer buffer, @NonNull BigMoneyProvider moneyProvider) {
+        MoneyFormatter.checkNotNull(buffer, "ByteBuffer must not be null");
+        writeBuffer(buffer, BigMoney.of(moneyProvider), false);
+    }
+
+    private static void writeBuffer(ByteBuffer buffer, BigMoney money, boolean quoted) {
+        try {
+            writeJson(null, buffer, money, quoted);
+        } catch (IOException ex) {
+            throw new MoneyFormatException(ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Writes the JSON object to whichever of the appendable or buffer is not null.
+     */
+    private static void writeJson(Appendable appendable, ByteBuffer buffer, BigMoney money, boolean quoted) throws IOException {
+        emit(appendable, buffer, "{\"currency\":\"");
+        emit(appendable, buffer, money.getCurrencyUnit().getCode());
+        emit(appendable, buffer, quoted ? "\",\"amount\":\"" : "\",\"amount\":");
+        BigDecimal amount = money.getAmount();
+        BigInteger unscaled = amount.unscaledValue();
+        if (unscaled.bitLength() <= 63) {
+            emitAmount(appendable, buffer, unscaled.longValue(), amount.scale());
+        } else {
+            emit(appendable, buffer, amount.toPlainString());
+        }
+        emit(appendable, buffer, quoted ? "\"}" : "}");
+    }
+
+    /**
+     * Writes an amount in plain decimal notation from its unscaled value.
+     */
+    private static void emitAmount(Appendable appendable, ByteBuffer buffer, long unscaled, int scale) throws IOException {
+        // work with the negated magnitude so that Long.MIN_VALUE is handled
+        long negated = unscaled;
+        if (unscaled < 0) {
+            emit(appendable, buffer, '-');
+        } else {
+            negated = -unscaled;
+        }
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && negated <= -POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        int integerDigits = digits - scale;
+        if (integerDigits <= 0) {
+            emit(appendable, buffer, '0');
+            emit(appendable, buffer, '.');
+            for (int i = integerDigits; i < 0; i++) {
+                emit(appendable, buffer, '0');
+            }
+        }
+        for (int i = 0; i < digits; i++) {
+            if (i == integerDigits && integerDigits > 0) {
+                emit(appendable, buffer, '.');
+            }
+            long digit = -((negated / POWERS_OF_TEN[digits - 1 - i]) % 10);
+            emit(appendable, buffer, (char) ('0' + digit));
+        }
+    }
+
+    private static void emit(Appendable appendable, ByteBuffer buffer, String str) throws IOException {
+        for (int i = 0; i < str.length(); i++) {
+            emit(appendable, buffer, str.charAt(i));
+        }
+    }
+
+    private static void emit(Appendable appendable, ByteBuffer buffer, char ch) throws IOException {
+        if (appendable != null) {
+            appendable.append(ch);
+        } else {
+            buffer.put((byte) ch);
+        }
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Reads a {@code BigMoney} from a JSON object in either form.
+     *
+     * @param text the text to read, not null
+     * @return the monetary value, never null
+     * @throws MoneyFormatException if the text is not a valid monetary JSON object
+     */
+    @NonNull
+    public static BigMoney parseBigMoney(@NonNull CharSequence text) {
+        MoneyFormatter.checkNotNull(text, "Text must not be null");
+        return parseBigMoney(text, 0, text.length());
+    }
+
+    /**
+     * Reads a {@code Money} from a JSON object in either form.
+     *
+     * @param text the text to read, not null
+     * @return the monetary value, never null
+     * @throws MoneyFormatException if the text is not a valid monetary JSON object
+     * @throws ArithmeticException  if the scale of the amount exceeds the currency scale
+     */
+    @NonNull
+    public static Money parseMoney(@NonNull CharSequence text) {
+        return parseBigMoney(text).toMoney();
+    }
+
+    /**
+     * Reads a {@code BigMoney} from a JSON object occupying a window of the text.
+     * <p>
+     * Whitespace is permitted around the object, but no other text.
+     *
+     * @param text  the text to read, not null
+     * @param start the start index of the window, inclusive
+     * @param end   the end index of the window, exclusive
+     * @return the monetary value, never null
+     * @throws IndexOutOfBoundsException if the window is invalid
+     * @throws MoneyFormatException      if the window is not a valid monetary JSON object
+     */
+    @NonNull
+    public static BigMoney parseBigMoney(@NonNull CharSequence text, int start, int end) {
+        MoneyFormatter.checkNotNull(text, "Text must not be null");
+        if (start < 0 || end > text.length() || start > end) {
+            throw new StringIndexOutOfBoundsException("Invalid window: " + start + " to " + end);
+        }
+        CurrencyUnit currency = null;
+        boolean amountFound = false;
+        long unscaled = 0;
+        int scale = 0;
+        BigDecimal bigAmount = null;
+
+        int pos = expect(text, skipWhitespace(text, start, end), end, '{');
+        while (true) {
+            pos = expect(text, skipWhitespace(text, pos, end), end, '"');
+            boolean isCurrency;
+            if (regionMatches(text, pos, end, "currency\"")) {
+                isCurrency = true;
+                pos += 9;
+            } else if (regionMatches(text, pos, end, "amount\"")) {
+                isCurrency = false;
+                pos += 7;
+            } else {
+                throw error("Unknown field", text, pos);
+            }
+            pos = expect(text, skipWhitespace(text, pos, end), end, ':');
+            pos = skipWhitespace(text, pos, end);
+            if (isCurrency) {
+                if (currency != null) {
+                    throw error("Duplicate currency", text, pos);
+                }
+                pos = expect(text, pos, end, '"');
+                if (pos + 4 > end || text.charAt(pos + 3) != '"') {
+                    throw error("Invalid currency", text, pos);
+                }
+                currency = lookupCurrency(text, pos);
+                pos += 4;
+            } else {
+                if (amountFound) {
+                    throw error("Duplicate amount", text, pos);
+                }
+                boolean quoted = (pos < end && text.charAt(pos) == '"');
+                if (quoted) {
+                    pos++;
+                }
+                int numberStart = pos;
+                boolean negative = false;
+                boolean overflow = false;
+                boolean exponent = false;
+                if (pos < end && text.charAt(pos) == '-') {
+                    negative = true;
+                    pos++;
+                }
+                int digitsStart = pos;
+                boolean fraction = false;
+                while (pos < end) {
+                    char ch = text.charAt(pos);
+                    if (ch >= '0' && ch <= '9') {
+                        int digit = ch - '0';
+                        if (unscaled > (Long.MAX_VALUE - digit) / 10) {
+                            overflow = true;
+                        } else if (!overflow) {
+                            unscaled = unscaled * 10 + digit;
+                        }
+                        if (fraction) {
+                            scale++;
+                        }
+                    } else if (ch == '.' && !fraction && pos > digitsStart) {
+                        fraction = true;
+                        if (pos + 1 >= end || text.charAt(pos + 1) < '0' || text.charAt(pos + 1) > '9') {
+                            throw error("Invalid amount", text, pos);
+                        }
+                    } else {
+                        break;
+                    }
+                    pos++;
+                }
+                if (pos == digitsStart) {
+                    throw error("Invalid amount", text, pos);
+                }
+                if (pos < end && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+                    exponent = true;
+                    pos++;
+                    if (pos < end && (text.charAt(pos) == '+' || text.charAt(pos) == '-')) {
+                        pos++;
+                    }
+                    int exponentStart = pos;
+                    while (pos < end && text.charAt(pos) >= '0' && text.charAt(pos) <= '9') {
+                        pos++;
+                    }
+                    if (pos == exponentStart) {
+                        throw error("Invalid amount", text, pos);
+                    }
+                }
+                if (overflow || exponent) {
+                    try {
+                        bigAmount = new BigDecimal(text.subSequence(numberStart, pos).toString());
+                    } catch (NumberFormatException ex) {
+                        throw error("Invalid amount", text, numberStart);
+                    }
+                } else if (negative) {
+                    unscaled = -unscaled;
+                }
+                if (quoted) {
+                    pos = expect(text, pos, end, '"');
+                }
+                amountFound = true;
+            }
+            pos = skipWhitespace(text, pos, end);
+            if (pos < end && text.charAt(pos) == ',') {
+                pos++;
+            } else {
+                pos = expect(text, pos, end, '}');
+                break;
+            }
+        }
+        pos = skipWhitespace(text, pos, end);
+        if (pos != end) {
+            throw error("Unparsed text found", text, pos);
+        }
+        if (currency == null || !amountFound) {
+            throw error("Missing currency or amount", text, start);
+        }
+        return BigMoney.of(currency, bigAmount != null ? bigAmount : BigDecimal.valueOf(unscaled, scale));
+    }
+
+    //-----------------------------------------------------------------------
+
+    private static int skipWhitespace(CharSequence text, int pos, int end) {
+        while (pos < end) {
+            char ch = text.charAt(pos);
+            if (ch != ' ' && ch != '\t' && ch != '\n' && ch != '\r') {
+                break;
+            }
+            pos++;
+        }
+        return pos;
+    }
+
+    private static int expect(CharSequence text, int pos, int end, char expected) {
+        if (pos >= end || text.charAt(pos) != expected) {
+            throw error("Expected '" + expected + "'", text, pos);
+        }
+        return pos + 1;
+    }
+
+    private static boolean regionMatches(CharSequence text, int pos, int end, String str) {
+        if (end - pos < str.length()) {
+            return false;
+        }
+        for (int i = 0; i < str.length(); i++) {
+            if (text.charAt(pos + i) != str.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static MoneyFormatException error(String message, CharSequence text, int pos) {
+        String str = (text.length() > 64 ? text.subSequence(0, 64).toString() + "..." : text.toString());
+        return new MoneyFormatException(message + " at index " + pos + ": " + str);
+    }
+
+    /**
+     * Looks up the three letter currency code at the index without creating a string.
+     */
+    private static CurrencyUnit lookupCurrency(CharSequence text, int pos) {
+        for (int i = 0; i < 3; i++) {
+            char ch = text.charAt(pos + i);
+            if (ch < 'A' || ch > 'Z') {
+                throw error("Invalid currency", text, pos);
+            }
+        }
+        try {
+            return CurrencyUnit.of(text, pos);
+        } catch (IllegalCurrencyException ex) {
+            throw error("Unknown currency", text, pos);
+        }
+    }
+
+}
@@ -0,0 +1,329 @@
+package org.joda.money.format;
+
+import androidx.annotation.NonNull;
+
+import org.joda.money.BigMoney;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.CharBuffer;
+
+/**
+ * Parses a stream of monetary records, one record per line.
+ * <p>
+ * Text is pulled from a {@code Reader} or pushed as a sequence of {@code CharBuffer}s
+ * and split into records on the line terminators '\n', '\r' and "\r\n".
+ * Each record must be fully parsed by the formatter, as per {@link MoneyFormatter#parseBigMoney(CharSequence)}.
+ * Blank lines are skipped.
+ * <p>
+ * Only the record currently being read is held in memory, and its length is bounded by
+ * the maximum record length. A malformed or overlong record is reported to the handler
+ * together with its line and column, after which parsing resumes at the next line.
+ * <p>
+ * This class is mutable and intended for use by a single thread.
+ * A new instance should be created for each stream.
+ */
+public final class MoneyStreamParser {
+
+    /**
+     * The default maximum record length.
+     */
+    public static final int DEFAULT_MAX_RECORD_LENGTH = 1024;
+    /**
+     * The size of the buffer used to read from a {@code Reader}.
+     */
+    private static final int READ_BUFFER_SIZE = 8192;
+
+    /**
+     * The formatter to parse each record with.
+     */
+    private final MoneyFormatter formatter;
+    /**
+     * The maximum number of characters in a record.
+     */
+    private final int maxRecordLength;
+    /**
+     * The handler of the current parse.
+     */
+    private final RecordHandler handler;
+    /**
+     * The text of the record being read.
+     */
+    private final StringBuilder record;
+    /**
+     * The reusable parse context.
+     */
+    private final AbstractMoneyParseContext<?> context;
+    /**
+     * The line number of the record being read, from 1.
+     */
+    private long lineNumber = 1;
+    /**
+     * The number of records successfully parsed.
+     */
+    private long recordCount;
+    /**
+     * The number of malformed records.
+     */
+    private long errorCount;
+    /**
+     * Whether the previous character was a '\r'.
+     */
+    private boolean lastWasCarriageReturn;
+    /**
+     * Whether the record being read has exceeded the maximum length.
+     */
+    private boolean overlong;
+    /**
+     * Whether the handler has asked to stop.
+     */
+    private boolean stopped;
+
+    /**
+     * Callback receiving the records of a stream.
+     */
+    public interface RecordHandler {
+
+        /**
+         * Receives a successfully parsed record.
+         *
+         * @param money      the parsed monetary value, not null
+         * @param lineNumber the line of the record, from 1
+         */
+        void onRecord(@NonNull BigMoney money, long lineNumber);
+
+        /**
+         * Receives a malformed record.
+         *
+         * @param ex           the exception describing the problem, not null
+         * @param lineNumber   the line of the record, from 1
+         * @param columnNumber the column at which the problem was found, from 1
+         * @return true to continue with the next record, false to stop parsing
+         */
+        boolean onError(@NonNull MoneyFormatException ex, long lineNumber, int columnNumber);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Constructor using the default maximum record length.
+     *
+     * @param formatter the formatter to parse each record with, not null
+     * @param handler   the handler to receive the records, not null
+     * @throws UnsupportedOperationException if the formatter cannot parse
+     */
+    public MoneyStreamParser(@NonNull MoneyFormatter formatter, @NonNull RecordHandler handler) {
+        this(formatter, handler, DEFAULT_MAX_RECORD_LENGTH);
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param formatter       the formatter to parse each record with, not null
+     * @param handler         the handler to receive the records, not null
+     * @param maxRecordLength the maximum number of characters in a record, greater than zero
+     * @throws UnsupportedOperationException if the formatter cannot parse
+     * @throws IllegalArgumentException      if the maximum record length is invalid
+     */
+    public MoneyStreamParser(@NonNull MoneyFormatter formatter, @NonNull RecordHandler handler, int maxRecordLength) {
+        MoneyFormatter.checkNotNull(formatter, "MoneyFormatter must not be null");
+        MoneyFormatter.checkNotNull(handler, "RecordHandler must not be null");
+        if (maxRecordLength <= 0) {
+            throw new IllegalArgumentException("Maximum record length must be greater than zero");
+        }
+        this.formatter = formatter;
+        this.handler = handler;
+        this.maxRecordLength = maxRecordLength;
+        this.record = new StringBuilder(Math.min(maxRecordLength, 64));
+        this.context = formatter.createParseContext(record);
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Parses all the records readable from the reader.
+     * <p>
+     * The reader is read until it is exhausted or the handler asks to stop.
+     * The reader is not closed.
+     *
+     * @param reader the reader to parse, not null
+     * @return the number of records successfully parsed by this parser
+     * @throws IOException if an IO error occurs
+     */
+    public long parse(@NonNull Reader reader) throws IOException {
+        MoneyFormatter.checkNotNull(reader, "Reader must not be null");
+        char[] buf = new char[READ_BUFFER_SIZE];
+        CharBuffer window = CharBuffer.wrap(buf);
+        int read;
+        while (!stopped && (read = reader.read(buf)) >= 0) {
+            window.limit(read).position(0);
+            feed(window);
+        }
+        return finish();
+    }
+
+    /**
+     * Parses all the records in a sequence of buffers.
+     * <p>
+     * Records may span buffer boundaries.
+     *
+     * @param buffers the buffers to parse, no null elements, not null
+     * @return the number of records successfully parsed by this parser
+     */
+    public long parse(@NonNull Iterable<CharBuffer> buffers) {
+        MoneyFormatter.checkNotNull(buffers, "Buffers must not be null");
+        for (CharBuffer buffer : buffers) {
+            if (stopped) {
+                break;
+            }
+            feed(buffer);
+        }
+        return finish();
+    }
+
+    /**
+     * Pushes the remaining characters of a buffer into the parser.
+     * <p>
+     * Complete records are passed to the handler immediately, while a trailing
+     * partial record is retained until more text or {@link #finish()} is received.
+     * The buffer position is advanced to its limit.
+     *
+     * @param buffer the buffer to read, not null
+     */
+    public void feed(@NonNull CharBuffer buffer) {
+        MoneyFormatter.checkNotNull(buffer, "Buffer must not be null");
+        while (buffer.hasRemaining() && !stopped) {
+            char ch = buffer.get();
+            if (ch == '\n') {
+                if (lastWasCarriageReturn) {
+                    lastWasCarriageReturn = false;
+                } else {
+                    endRecord();
+                }
+            } else if (ch == '\r') {
+                lastWasCarriageReturn = true;
+                endRecord();
+            } else {
+                lastWasCarriageReturn = false;
+                if (overlong) {
+                    continue;
+                }
+                if (record.length() == maxRecordLength) {
+                    overlong = true;
+                } else {
+                    record.append(ch);
+                }
+            }
+        }
+        if (stopped) {
+            buffer.position(buffer.limit());
+        }
+    }
+
+    /**
+     * Completes the stream, parsing any final record that has no line terminator.
+     *
+     * @return the number of records successfully parsed by this parser
+     */
+    public long finish() {
+        if (!stopped && (record.length() > 0 || overlong)) {
+            endRecord();
+        }
+        return recordCount;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Gets the number of records successfully parsed so far.
+     *
+     * @return the number of records
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Gets the number of malformed records found so far.
+     *
+     * @return the number of malformed records
+     */
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * Gets the line number of the record currently being read.
+     *
+     * @return the line number, from 1
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    /**
+     * Checks if the handler has asked to stop parsing.
+     *
+     * @return true if parsing has stopped
+     */
+    public boolean isStopped() {
+        return stopped;
+    }
+
+    //-----------------------------------------------------------------------
+
+    /**
+     * Parses the record that has just been terminated and moves to the next line.
+     */
+    private void endRecord() {
+        if (overlong) {
+            reportError("Record exceeds maximum length of " + maxRecordLength + " characters", maxRecordLength + 1);
+        } else if (record.length() > 0) {
+            parseRecord();
+        }
+        record.setLength(0);
+        overlong = false;
+        lineNumber++;
+    }
+
+    /**
+     * Parses the current record using the reusable context.
+     */
+    private void parseRecord() {
+        context.reset(record, 0);
+        formatter.parseInto(context);
+        if (context.isError()) {
+            reportError("Text could not be parsed at index " + context.getErrorIndex(), context.getErrorIndex() + 1);
+        } else if (!context.isFullyParsed()) {
+            reportError("Unparsed text found at index " + context.getIndex(), context.getIndex() + 1);
+        } else if (!context.isComplete()) {
+            reportError("Parsing did not find both currency and amount", 1);
+        } else {
+            BigMoney money;
+            try {
+                money = context.toBigMoney();
+            } catch (RuntimeException ex) {
+                reportError(ex.getMessage(), 1);
+                return;
+            }
+            recordCount++;
+            handler.onRecord(money, lineNumber);
+        }
+    }
+
+    /**
+     * Reports a malformed record to the handler.
+     *
+     * @param message      the problem, not null
+     * @param columnNumber the column of the problem, from 1
+     */
+    private void reportError(String message, int columnNumber) {
+        errorCount++;
+        String str = (record.length() > 64 ? record.subSequence(0, 64).toString() + "..." : record.toString());
+        MoneyFormatException ex = new MoneyFormatException(message + " on line " + lineNumber + ": " + str);
+        if (!handler.onError(ex, lineNumber, columnNumber)) {
+            stopped = true;
+        }
+    }
+
+}
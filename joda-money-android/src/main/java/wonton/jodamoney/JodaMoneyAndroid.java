@@ -6,6 +6,7 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 
 import org.joda.money.BaseCurrencyUnitDataProvider;
+import org.joda.money.CashRounding;
 import org.joda.money.CurrencyUnit;
 import org.joda.money.FileCurrencyUnitDataProvider;
 
@@ -52,6 +53,8 @@ public class JodaMoneyAndroid {
         if (CurrencyUnit.registeredCurrencies().size() < 1) {
             Log.e("JodaMoneyAndroid", "Initialization failed");
             isInitialized.set(false);
+        } else {
+            loadCashRoundings();
         }
         applicationContext = null;
     }
@@ -84,6 +87,9 @@ public class JodaMoneyAndroid {
                 isInitialized.set(false);
             }
         }
+        if (isInitialized.get()) {
+            loadCashRoundings();
+        }
         applicationContext = null;
     }
 
@@ -112,6 +118,22 @@ public class JodaMoneyAndroid {
             e.printStackTrace();
             isInitialized.set(false);
         }
+        if (isInitialized.get()) {
+            loadCashRoundings();
+        }
         applicationContext = null;
     }
+
+    /**
+     * Loads the bundled cash roundings while the context is available,
+     * logging rather than throwing any failure.
+     */
+    private static void loadCashRoundings() {
+        try {
+            CashRounding.registeredRoundings();
+        } catch (Exception e) {
+            Log.e("JodaMoneyAndroid", "Cash rounding initialization failed");
+            e.printStackTrace();
+        }
+    }
 }